@@ -29,7 +29,7 @@ import {
   ArrowBack as BackIcon,
 } from '@mui/icons-material';
 import { useNavigate } from 'react-router-dom';
-import { getBookings, approveBooking, denyBooking } from '../services/api';
+import { getBookingsPage, approveBooking, denyBooking } from '../services/api';
 import { Booking } from '../types';
 
 // Admin Bookings Management Component
@@ -37,6 +37,8 @@ const AdminBookings: React.FC = () => {
   const navigate = useNavigate();
   const [bookings, setBookings] = useState<Booking[]>([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [selectedBooking, setSelectedBooking] = useState<Booking | null>(null);
   const [approveDialogOpen, setApproveDialogOpen] = useState(false);
@@ -51,8 +53,9 @@ const AdminBookings: React.FC = () => {
   const fetchBookings = async () => {
     try {
       setLoading(true);
-      const data = await getBookings();
-      setBookings(data);
+      const page = await getBookingsPage();
+      setBookings(page.items);
+      setNextCursor(page.hasNext ? page.nextCursor : null);
       setError(null);
     } catch (err: any) {
       setError(err.response?.data?.message || 'Failed to fetch bookings');
@@ -62,6 +65,20 @@ const AdminBookings: React.FC = () => {
     }
   };
 
+  const loadMoreBookings = async () => {
+    try {
+      setLoadingMore(true);
+      const page = await getBookingsPage(nextCursor);
+      setBookings((current) => [...current, ...page.items]);
+      setNextCursor(page.hasNext ? page.nextCursor : null);
+    } catch (err: any) {
+      setError(err.response?.data?.message || 'Failed to fetch bookings');
+      console.error('Error fetching bookings:', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleApproveBooking = async () => {
     if (!selectedBooking) return;
 
@@ -221,6 +238,14 @@ const AdminBookings: React.FC = () => {
         </Table>
       </TableContainer>
 
+      {nextCursor && (
+        <Box display="flex" justifyContent="center" mt={2}>
+          <Button variant="outlined" onClick={loadMoreBookings} disabled={loadingMore}>
+            {loadingMore ? 'Loading...' : 'Load more bookings'}
+          </Button>
+        </Box>
+      )}
+
       {/* Approve Booking Dialog */}
       <Dialog
         open={approveDialogOpen}
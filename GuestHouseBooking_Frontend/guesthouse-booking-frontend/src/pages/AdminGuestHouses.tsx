@@ -24,12 +24,14 @@ import {
   Chip,
 } from '@mui/material';
 import { Add, Edit, Delete, Visibility } from '@mui/icons-material';
-import { getGuestHouses, createGuestHouse, updateGuestHouse, deleteGuestHouse } from '../services/api';
+import { getGuestHousesPage, createGuestHouse, updateGuestHouse, deleteGuestHouse } from '../services/api';
 import { GuestHouse } from '../types';
 
 const AdminGuestHouses: React.FC = () => {
   const [guestHouses, setGuestHouses] = useState<GuestHouse[]>([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [dialogOpen, setDialogOpen] = useState(false);
   const [detailsDialogOpen, setDetailsDialogOpen] = useState(false);
@@ -55,8 +57,9 @@ const AdminGuestHouses: React.FC = () => {
   const fetchGuestHouses = async () => {
     setLoading(true);
     try {
-      const data = await getGuestHouses();
-      setGuestHouses(data);
+      const page = await getGuestHousesPage();
+      setGuestHouses(page.items);
+      setNextCursor(page.hasNext ? page.nextCursor : null);
       setError(null);
     } catch (err: any) {
       setError('Failed to fetch guest houses');
@@ -65,6 +68,19 @@ const AdminGuestHouses: React.FC = () => {
     }
   };
 
+  const loadMoreGuestHouses = async () => {
+    setLoadingMore(true);
+    try {
+      const page = await getGuestHousesPage(nextCursor);
+      setGuestHouses((current) => [...current, ...page.items]);
+      setNextCursor(page.hasNext ? page.nextCursor : null);
+    } catch (err: any) {
+      setError('Failed to fetch guest houses');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleOpenDialog = (guestHouse?: GuestHouse) => {
     if (guestHouse) {
       setEditing(guestHouse);
@@ -193,6 +209,13 @@ const AdminGuestHouses: React.FC = () => {
           </Table>
         </TableContainer>
       )}
+      {nextCursor && (
+        <Box display="flex" justifyContent="center" mt={2}>
+          <Button variant="outlined" onClick={loadMoreGuestHouses} disabled={loadingMore}>
+            {loadingMore ? 'Loading...' : 'Load more guest houses'}
+          </Button>
+        </Box>
+      )}
       <Dialog open={dialogOpen} onClose={handleCloseDialog} maxWidth="sm" fullWidth>
         <DialogTitle>{editing ? 'Edit Guest House' : 'Add Guest House'}</DialogTitle>
         <DialogContent>
@@ -27,12 +27,14 @@ import {
   FormControlLabel,
 } from '@mui/material';
 import { Add, Edit, Delete, Visibility, VisibilityOff } from '@mui/icons-material';
-import { getUsers, createUser, updateUser, deleteUser } from '../services/api';
+import { getUsersPage, createUser, updateUser, deleteUser } from '../services/api';
 import { User, UserRole } from '../types';
 
 const AdminUsers: React.FC = () => {
   const [users, setUsers] = useState<User[]>([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [dialogOpen, setDialogOpen] = useState(false);
   const [editing, setEditing] = useState<User | null>(null);
@@ -56,8 +58,9 @@ const AdminUsers: React.FC = () => {
   const fetchUsers = async () => {
     try {
       setLoading(true);
-      const data = await getUsers();
-      setUsers(data);
+      const page = await getUsersPage();
+      setUsers(page.items);
+      setNextCursor(page.hasNext ? page.nextCursor : null);
       setError(null);
     } catch (err: any) {
       setError(err.response?.data?.message || 'Failed to fetch users');
@@ -67,6 +70,20 @@ const AdminUsers: React.FC = () => {
     }
   };
 
+  const loadMoreUsers = async () => {
+    try {
+      setLoadingMore(true);
+      const page = await getUsersPage(nextCursor);
+      setUsers((current) => [...current, ...page.items]);
+      setNextCursor(page.hasNext ? page.nextCursor : null);
+    } catch (err: any) {
+      setError(err.response?.data?.message || 'Failed to fetch users');
+      console.error('Error fetching users:', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleOpenDialog = (user?: User) => {
     if (user) {
       setEditing(user);
@@ -249,6 +266,14 @@ const AdminUsers: React.FC = () => {
         </Table>
       </TableContainer>
 
+      {nextCursor && (
+        <Box display="flex" justifyContent="center" mt={2}>
+          <Button variant="outlined" onClick={loadMoreUsers} disabled={loadingMore}>
+            {loadingMore ? 'Loading...' : 'Load more users'}
+          </Button>
+        </Box>
+      )}
+
       <Dialog open={dialogOpen} onClose={handleCloseDialog} maxWidth="sm" fullWidth>
         <DialogTitle>{editing ? 'Edit User' : 'Add User'}</DialogTitle>
         <DialogContent>
@@ -14,7 +14,7 @@ import {
 import { Hotel, Book, Person } from '@mui/icons-material';
 import { useNavigate } from 'react-router-dom';
 import { useAuth } from '../contexts/AuthContext';
-import { getGuestHouses } from '../services/api';
+import { getGuestHousesPage } from '../services/api';
 import { GuestHouse } from '../types';
 
 const Home: React.FC = () => {
@@ -27,8 +27,9 @@ const Home: React.FC = () => {
   useEffect(() => {
     const fetchGuestHouses = async () => {
       try {
-        const data = await getGuestHouses();
-        setGuestHouses(data);
+        // Only the first few are featured, so one page is enough
+        const page = await getGuestHousesPage();
+        setGuestHouses(page.items);
       } catch (err) {
         setError('Failed to load guest houses');
         console.error('Error fetching guest houses:', err);
@@ -109,10 +109,36 @@ export const logout = async (): Promise<void> => {
   }
 };
 
+// List endpoints are paginated by cursor; pass the previous page's nextCursor to get the next one
+export interface Page<T> {
+  items: T[];
+  nextCursor: string | null;
+  hasNext: boolean;
+  size: number;
+}
+
+const getPage = async <T>(url: string, cursor?: string | null, params?: object): Promise<Page<T>> => {
+  const response = await api.get<Page<T>>(url, {
+    params: { ...params, cursor: cursor ?? undefined },
+  });
+  return response.data;
+};
+
 // ===== GUEST HOUSE API =====
+export const getGuestHousesPage = async (cursor?: string | null): Promise<Page<GuestHouse>> => {
+  return getPage<GuestHouse>('/guesthouses', cursor);
+};
+
+// Guest house pickers need the whole (admin-maintained, small) catalog in one list
 export const getGuestHouses = async (): Promise<GuestHouse[]> => {
-  const response = await api.get<GuestHouse[]>('/guesthouses');
-  return response.data;
+  const guestHouses: GuestHouse[] = [];
+  let cursor: string | null = null;
+  do {
+    const page: Page<GuestHouse> = await getPage<GuestHouse>('/guesthouses', cursor, { size: 200 });
+    guestHouses.push(...page.items);
+    cursor = page.hasNext ? page.nextCursor : null;
+  } while (cursor);
+  return guestHouses;
 };
 
 export const getGuestHouseById = async (id: number): Promise<GuestHouse> => {
@@ -145,9 +171,8 @@ export const deleteGuestHouse = async (id: number): Promise<void> => {
 };
 
 // ===== ROOM API =====
-export const getRooms = async (): Promise<Room[]> => {
-  const response = await api.get<Room[]>('/rooms');
-  return response.data;
+export const getRoomsPage = async (cursor?: string | null): Promise<Page<Room>> => {
+  return getPage<Room>('/rooms', cursor);
 };
 
 export const getRoomById = async (id: number): Promise<Room> => {
@@ -175,9 +200,8 @@ export const deleteRoom = async (id: number): Promise<void> => {
 };
 
 // ===== BED API =====
-export const getBeds = async (): Promise<Bed[]> => {
-  const response = await api.get<Bed[]>('/beds');
-  return response.data;
+export const getBedsPage = async (cursor?: string | null): Promise<Page<Bed>> => {
+  return getPage<Bed>('/beds', cursor);
 };
 
 export const getBedById = async (id: number): Promise<Bed> => {
@@ -226,11 +250,8 @@ export const createBooking = async (bookingData: BookingForm): Promise<Booking>
   return response.data;
 };
 
-export const getBookings = async (filters?: BookingFilters): Promise<Booking[]> => {
-  const response = await api.get<Booking[]>('/bookings', {
-    params: filters,
-  });
-  return response.data;
+export const getBookingsPage = async (cursor?: string | null, filters?: BookingFilters): Promise<Page<Booking>> => {
+  return getPage<Booking>('/bookings', cursor, filters);
 };
 
 export const getBookingById = async (id: number): Promise<Booking> => {
@@ -307,9 +328,8 @@ export const getApprovedRevenueBreakdown = async (): Promise<string> => {
 };
 
 // ===== USER API =====
-export const getUsers = async (): Promise<User[]> => {
-  const response = await api.get<User[]>('/users');
-  return response.data;
+export const getUsersPage = async (cursor?: string | null): Promise<Page<User>> => {
+  return getPage<User>('/users', cursor);
 };
 
 export const getUserById = async (id: number): Promise<User> => {
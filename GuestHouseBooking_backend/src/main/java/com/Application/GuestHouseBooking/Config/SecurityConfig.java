@@ -18,6 +18,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -31,14 +33,21 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches of already-authorized streaming responses carry no JWT of their own
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/users/register").permitAll()
                 .requestMatchers("/terms-and-conditions", "/api/terms-and-conditions", "/*/terms-and-conditions").permitAll()
                 .requestMatchers("/api/beds/**").hasAnyRole("ADMIN", "USER")
+                .requestMatchers("/api/guesthouses/cache-stats").hasRole("ADMIN")
                 .requestMatchers("/api/guesthouses/**").hasAnyRole("ADMIN", "USER")
                 .requestMatchers("/api/rooms/**").hasAnyRole("ADMIN", "USER")
+                .requestMatchers("/api/bookings/export").hasRole("ADMIN")
                 .requestMatchers("/api/bookings/**").hasAnyRole("ADMIN", "USER")
+                .requestMatchers("/api/availability/cache-stats").hasRole("ADMIN")
+                .requestMatchers("/api/availability/**").hasAnyRole("ADMIN", "USER")
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/api/dashboard/stream").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
@@ -54,7 +63,7 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Origin", "X-Requested-With", "Access-Control-Allow-Origin"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Origin", "X-Requested-With", "Access-Control-Allow-Origin", "Last-Event-ID"));
         configuration.setExposedHeaders(Arrays.asList("Authorization", "Access-Control-Allow-Origin"));
         configuration.setAllowCredentials(true);
         
@@ -0,0 +1,47 @@
+package com.Application.GuestHouseBooking.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.Application.GuestHouseBooking.dtos.AvailabilitySearchResultDTO;
+import com.Application.GuestHouseBooking.service.AvailabilityServices;
+
+@RestController
+@RequestMapping("/api/availability")
+@CrossOrigin(origins = "*")
+public class AvailabilityController {
+
+    @Autowired
+    private AvailabilityServices availabilityService;
+
+    @GetMapping("/search")
+    public ResponseEntity<List<AvailabilitySearchResultDTO>> searchAvailability(
+            @RequestParam(required = false) String city,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(defaultValue = "1") int beds) {
+        try {
+            List<AvailabilitySearchResultDTO> results = availabilityService.searchAvailability(city, checkIn, checkOut, beds);
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            System.err.println("Error searching availability: " + e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return new ResponseEntity<>(availabilityService.getCacheStats(), HttpStatus.OK);
+    }
+}
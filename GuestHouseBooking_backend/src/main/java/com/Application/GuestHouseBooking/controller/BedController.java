@@ -20,7 +20,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.Application.GuestHouseBooking.dtos.BedDTO;
+import com.Application.GuestHouseBooking.dtos.BedReconciliationDTO;
 import com.Application.GuestHouseBooking.service.implementations.BedServicesImplementations;
+import com.Application.GuestHouseBooking.service.implementations.KeysetPaging;
 
 @RestController
 @RequestMapping("/api/beds")
@@ -30,6 +32,9 @@ public class BedController {
     @Autowired
     private BedServicesImplementations bedService;
 
+    @Autowired
+    private KeysetPaging keysetPaging;
+
     @PostMapping
     public ResponseEntity<BedDTO> createBed(@RequestBody BedDTO bedDTO) {
         try {
@@ -64,10 +69,24 @@ public class BedController {
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    // Pages of beds in creation order; ?all=true returns the whole list and is admin-only
     @GetMapping
-    public ResponseEntity<List<BedDTO>> getAllBeds() {
-        List<BedDTO> beds = bedService.getAllBeds();
-        return new ResponseEntity<>(beds, HttpStatus.OK);
+    public ResponseEntity<?> getAllBeds(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean all) {
+        if (all) {
+            if (!keysetPaging.callerIsAdmin()) {
+                return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            }
+            List<BedDTO> beds = bedService.getAllBeds();
+            return new ResponseEntity<>(beds, HttpStatus.OK);
+        }
+        try {
+            return new ResponseEntity<>(bedService.getBedsPage(cursor, size), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @GetMapping("/by-room/{roomId}")
@@ -121,11 +140,21 @@ public class BedController {
     @PostMapping("/update-availability")
     public ResponseEntity<String> updateBedAvailability() {
         try {
-            bedService.updateBedAvailabilityForCompletedBookings();
-            return new ResponseEntity<>("Bed availability updated successfully", HttpStatus.OK);
+            BedReconciliationDTO run = bedService.updateBedAvailabilityForCompletedBookings();
+            return new ResponseEntity<>("Bed availability updated successfully: " + run.getRowsChanged()
+                    + " beds released in " + run.getDurationMillis() + " ms", HttpStatus.OK);
         } catch (Exception e) {
             System.err.println("Error updating bed availability: " + e.getMessage());
             return new ResponseEntity<>("Failed to update bed availability: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    @GetMapping("/update-availability/last-run")
+    public ResponseEntity<BedReconciliationDTO> getLastReconciliation() {
+        BedReconciliationDTO lastRun = bedService.getLastReconciliation();
+        if (lastRun == null) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(lastRun, HttpStatus.OK);
+    }
 }
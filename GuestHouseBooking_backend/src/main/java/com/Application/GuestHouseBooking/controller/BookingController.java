@@ -1,10 +1,15 @@
 package com.Application.GuestHouseBooking.controller;
 
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,12 +23,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.Application.GuestHouseBooking.dtos.BookingDTO;
+import com.Application.GuestHouseBooking.dtos.BookingHoldDTO;
+import com.Application.GuestHouseBooking.dtos.GroupBookingDTO;
 import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
 import com.Application.GuestHouseBooking.entity.User;
+import com.Application.GuestHouseBooking.exceptions.BookingConflictException;
+import com.Application.GuestHouseBooking.repository.BookingRepository;
 import com.Application.GuestHouseBooking.repository.UserRepository;
 import com.Application.GuestHouseBooking.service.implementations.BookingServiceImplementations;
+import com.Application.GuestHouseBooking.service.implementations.KeysetPaging;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -31,21 +42,91 @@ import com.Application.GuestHouseBooking.service.implementations.BookingServiceI
 public class BookingController {
     @Autowired
     private BookingServiceImplementations bookingService;
+
+    @Autowired
+    private KeysetPaging keysetPaging;
     
     @Autowired
     private UserRepository userRepository;
 
     @PostMapping
-    public ResponseEntity<BookingDTO> createBooking(@RequestBody BookingDTO bookingDTO) {
+    public ResponseEntity<?> createBooking(@RequestBody BookingDTO bookingDTO) {
         try {
             BookingDTO createdBooking = bookingService.createBooking(bookingDTO);
             return new ResponseEntity<>(createdBooking, HttpStatus.CREATED);
+        } catch (BookingConflictException e) {
+            // Let the client offer the suggested dates or beds instead of retrying blindly
+            System.err.println("Booking conflict: " + e.getMessage());
+            return new ResponseEntity<>(e.getSuggestions(), HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             System.err.println("Error creating booking: " + e.getMessage());
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
 
+    @PostMapping("/group")
+    public ResponseEntity<List<BookingDTO>> createGroupBooking(@RequestBody GroupBookingDTO groupBookingDTO) {
+        try {
+            List<BookingDTO> createdBookings = bookingService.createGroupBooking(groupBookingDTO);
+            return new ResponseEntity<>(createdBookings, HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            System.err.println("Error creating group booking: " + e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PostMapping("/holds")
+    public ResponseEntity<?> placeHold(@RequestBody BookingHoldDTO bookingHoldDTO) {
+        try {
+            String owner = SecurityContextHolder.getContext().getAuthentication().getName();
+            BookingHoldDTO hold = bookingService.placeHold(bookingHoldDTO, owner);
+            return new ResponseEntity<>(hold, HttpStatus.CREATED);
+        } catch (BookingConflictException e) {
+            return new ResponseEntity<>(e.getSuggestions(), HttpStatus.CONFLICT);
+        } catch (RuntimeException e) {
+            System.err.println("Error placing hold: " + e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String holdId) {
+        String owner = SecurityContextHolder.getContext().getAuthentication().getName();
+        if (bookingService.releaseHold(holdId, owner)) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
+    // Streams bookings checking in within [from, to] as CSV or NDJSON without loading them all first
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<BookingStatus> status) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        if (!ndjson && !"csv".equalsIgnoreCase(format)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        LocalDate fromDate = from != null ? from : LocalDate.of(1000, 1, 1);
+        LocalDate toDate = to != null ? to : BookingRepository.OPEN_ENDED;
+        if (toDate.isBefore(fromDate)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<BookingStatus> statuses = status == null || status.isEmpty() ? Arrays.asList(BookingStatus.values()) : status;
+
+        StreamingResponseBody body = output -> {
+            long rows = bookingService.exportBookings(format, fromDate, toDate, statuses, output);
+            System.out.println("Exported " + rows + " bookings as " + format.toLowerCase());
+        };
+        String fileName = "bookings-" + (from != null ? from : "start") + "-" + (to != null ? to : "end") + (ndjson ? ".ndjson" : ".csv");
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BookingDTO> getBookingById(@PathVariable Long id) {
         Optional<BookingDTO> bookingDTO = bookingService.getBookingById(id);
@@ -59,16 +140,30 @@ public class BookingController {
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 
+    // Pages of bookings in creation order; ?all=true returns the whole list and is admin-only
     @GetMapping
-    public ResponseEntity<List<BookingDTO>> getAllBookings(
-            @RequestParam(required = false) BookingStatus status) {
-        List<BookingDTO> bookings;
-        if (status != null) {
-            bookings = bookingService.getBookingsByStatus(status);
-        } else {
-            bookings = bookingService.getAllBookings();
+    public ResponseEntity<?> getAllBookings(
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean all) {
+        if (all) {
+            if (!keysetPaging.callerIsAdmin()) {
+                return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            }
+            List<BookingDTO> bookings;
+            if (status != null) {
+                bookings = bookingService.getBookingsByStatus(status);
+            } else {
+                bookings = bookingService.getAllBookings();
+            }
+            return new ResponseEntity<>(bookings, HttpStatus.OK);
+        }
+        try {
+            return new ResponseEntity<>(bookingService.getBookingsPage(status, cursor, size), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
-        return new ResponseEntity<>(bookings, HttpStatus.OK);
     }
 
     @GetMapping("/by-user/{userId}")
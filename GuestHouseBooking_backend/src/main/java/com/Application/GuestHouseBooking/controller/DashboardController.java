@@ -2,20 +2,35 @@ package com.Application.GuestHouseBooking.controller;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.Application.GuestHouseBooking.dtos.DashboardStatsDTO;
+import com.Application.GuestHouseBooking.dtos.DiagnosticsSnapshotDTO;
+import com.Application.GuestHouseBooking.dtos.GuestHouseStatsDTO;
+import com.Application.GuestHouseBooking.dtos.OccupancyCalendarDTO;
+import com.Application.GuestHouseBooking.dtos.TimeSeriesDTO;
 import com.Application.GuestHouseBooking.service.DashboardService;
+import com.Application.GuestHouseBooking.service.implementations.DashboardQueryFanOut;
+import com.Application.GuestHouseBooking.service.implementations.DashboardStream;
+import com.Application.GuestHouseBooking.service.implementations.DiagnosticsSnapshotService;
 import com.Application.GuestHouseBooking.repository.BookingRepository;
 import com.Application.GuestHouseBooking.repository.GuestHouseRepository;
 import com.Application.GuestHouseBooking.repository.RoomRepository;
@@ -33,6 +48,15 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private DashboardStream dashboardStream;
+
+    @Autowired
+    private DashboardQueryFanOut queryFanOut;
+
+    @Autowired
+    private DiagnosticsSnapshotService diagnosticsSnapshotService;
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -53,27 +77,49 @@ public class DashboardController {
         return ResponseEntity.ok(dashboardService.getOverallStatistics());
     }
 
+    // Result of the last check of the live counters against the database
+    @GetMapping("/stats/drift")
+    public ResponseEntity<Map<String, Object>> getCounterDrift() {
+        Map<String, Object> report = dashboardService.getCounterDriftReport();
+        if (report == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    // Snapshot on connect, then one delta per booking change; browsers resume with Last-Event-ID
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStatistics(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = dashboardStream.subscribe(lastEventId);
+        if (emitter == null) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
     @GetMapping("/debug")
     public ResponseEntity<String> getDebugInfo() {
+        Map<String, Supplier<Object>> figures = new LinkedHashMap<>();
+        figures.put("Total Guest Houses", guestHouseRepository::count);
+        figures.put("Total Rooms", roomRepository::count);
+        figures.put("Total Beds", bedRepository::count);
+        figures.put("Available Beds", bedRepository::countAvailableBeds);
+        figures.put("Occupied Beds", bedRepository::countOccupiedBeds);
+        figures.put("Truly Available Beds", bedRepository::countTrulyAvailableBeds);
+        figures.put("Beds with Active Bookings", bedRepository::countBedsWithActiveBookings);
+        figures.put("Actually Available Beds", bedRepository::countActuallyAvailableBeds);
+        figures.put("Total Users", userRepository::count);
+        figures.put("Total Bookings", bookingRepository::count);
+        for (BookingStatus status : BookingStatus.values()) {
+            figures.put(statusLabel(status) + " Bookings", () -> bookingRepository.countByStatus(status));
+        }
+        figures.put("Total Revenue (Completed)", bookingRepository::calculateTotalRevenue);
+        figures.put("Total Revenue (Approved - CONFIRMED + COMPLETED)", bookingRepository::calculateTotalRevenueFromApprovedBookings);
+
         StringBuilder debug = new StringBuilder();
         debug.append("=== Database Debug Info ===\n");
-        debug.append("Total Guest Houses: ").append(guestHouseRepository.count()).append("\n");
-        debug.append("Total Rooms: ").append(roomRepository.count()).append("\n");
-        debug.append("Total Beds: ").append(bedRepository.count()).append("\n");
-        debug.append("Available Beds: ").append(bedRepository.countAvailableBeds()).append("\n");
-        debug.append("Occupied Beds: ").append(bedRepository.countOccupiedBeds()).append("\n");
-        debug.append("Truly Available Beds: ").append(bedRepository.countTrulyAvailableBeds()).append("\n");
-        debug.append("Beds with Active Bookings: ").append(bedRepository.countBedsWithActiveBookings()).append("\n");
-        debug.append("Actually Available Beds: ").append(bedRepository.countActuallyAvailableBeds()).append("\n");
-        debug.append("Total Users: ").append(userRepository.count()).append("\n");
-        debug.append("Total Bookings: ").append(bookingRepository.count()).append("\n");
-        debug.append("Pending Bookings: ").append(bookingRepository.countByStatus(BookingStatus.PENDING)).append("\n");
-        debug.append("Confirmed Bookings: ").append(bookingRepository.countByStatus(BookingStatus.CONFIRMED)).append("\n");
-        debug.append("Completed Bookings: ").append(bookingRepository.countByStatus(BookingStatus.COMPLETED)).append("\n");
-        debug.append("Canceled Bookings: ").append(bookingRepository.countByStatus(BookingStatus.CANCELED)).append("\n");
-        debug.append("Denied Bookings: ").append(bookingRepository.countByStatus(BookingStatus.DENIED)).append("\n");
-        debug.append("Total Revenue (Completed): ").append(bookingRepository.calculateTotalRevenue()).append("\n");
-        debug.append("Total Revenue (Approved - CONFIRMED + COMPLETED): ").append(bookingRepository.calculateTotalRevenueFromApprovedBookings()).append("\n");
+        appendFigures(debug, figures);
         debug.append("==========================\n");
         
         return ResponseEntity.ok(debug.toString());
@@ -86,6 +132,56 @@ public class DashboardController {
         return ResponseEntity.ok(dashboardService.getPeriodReport(startDate, endDate));
     }
 
+    // Rooms, beds, occupancy, bookings by status and revenue for every guest house at once
+    @GetMapping("/stats/guesthouses")
+    public ResponseEntity<List<GuestHouseStatsDTO>> getGuestHouseStatistics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            return ResponseEntity.ok(dashboardService.getGuestHouseStatistics(startDate, endDate));
+        } catch (RuntimeException e) {
+            System.err.println("Error building guest house statistics: " + e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Bookings, approved revenue and occupancy per day, week or month, for charts
+    @GetMapping("/timeseries")
+    public ResponseEntity<TimeSeriesDTO> getTimeSeries(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            LocalDate end = endDate != null ? endDate : LocalDate.now();
+            LocalDate start = startDate != null ? startDate : end.minusDays(29);
+            return ResponseEntity.ok(dashboardService.getTimeSeries(granularity, start, end));
+        } catch (RuntimeException e) {
+            System.err.println("Error building time series: " + e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/occupancy-calendar")
+    public ResponseEntity<List<OccupancyCalendarDTO>> getOccupancyCalendar(
+            @RequestParam(required = false) Long guestHouseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(defaultValue = "90") int days) {
+        try {
+            LocalDate start = startDate != null ? startDate : LocalDate.now();
+            return ResponseEntity.ok(dashboardService.getOccupancyCalendar(guestHouseId, start, days));
+        } catch (RuntimeException e) {
+            System.err.println("Error building occupancy calendar: " + e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Counts and first rows from the diagnostics snapshot, a fixed handful of queries
+    @GetMapping("/diagnostics")
+    public ResponseEntity<DiagnosticsSnapshotDTO> getDiagnostics(
+            @RequestParam(defaultValue = "" + DiagnosticsSnapshotService.DEFAULT_SAMPLE) int sample) {
+        return ResponseEntity.ok(diagnosticsSnapshotService.getSnapshot(sample));
+    }
+
     @GetMapping("/test-data")
     public ResponseEntity<String> testDatabaseData() {
         StringBuilder result = new StringBuilder();
@@ -93,25 +189,26 @@ public class DashboardController {
         
         // Test if we can connect and get basic counts
         try {
-            result.append("Guest Houses: ").append(guestHouseRepository.count()).append("\n");
-            result.append("Rooms: ").append(roomRepository.count()).append("\n");
-            result.append("Beds: ").append(bedRepository.count()).append("\n");
-            result.append("Users: ").append(userRepository.count()).append("\n");
-            result.append("Bookings: ").append(bookingRepository.count()).append("\n");
+            DiagnosticsSnapshotDTO snapshot = diagnosticsSnapshotService.getSnapshot(0);
+            result.append("Guest Houses: ").append(snapshot.getTotalGuestHouses()).append("\n");
+            result.append("Rooms: ").append(snapshot.getTotalRooms()).append("\n");
+            result.append("Beds: ").append(snapshot.getTotalBeds()).append("\n");
+            result.append("Users: ").append(snapshot.getTotalUsers()).append("\n");
+            result.append("Bookings: ").append(snapshot.getTotalBookings()).append("\n");
             
             // Test if we can get some actual data
-            if (guestHouseRepository.count() > 0) {
-                result.append("First Guest House: ").append(guestHouseRepository.findAll().get(0).getName()).append("\n");
+            if (snapshot.getFirstGuestHouseName() != null) {
+                result.append("First Guest House: ").append(snapshot.getFirstGuestHouseName()).append("\n");
             }
             
-            if (bedRepository.count() > 0) {
-                result.append("First Bed: ").append(bedRepository.findAll().get(0).getBedNumber()).append("\n");
-                result.append("First Bed Available: ").append(bedRepository.findAll().get(0).getIsAvailableForBooking()).append("\n");
+            if (snapshot.getFirstBedNumber() != null) {
+                result.append("First Bed: ").append(snapshot.getFirstBedNumber()).append("\n");
+                result.append("First Bed Available: ").append(snapshot.getFirstBedAvailableForBooking()).append("\n");
             }
             
-            if (bookingRepository.count() > 0) {
-                result.append("First Booking Status: ").append(bookingRepository.findAll().get(0).getStatus()).append("\n");
-                result.append("First Booking Total Price: ").append(bookingRepository.findAll().get(0).getTotalPrice()).append("\n");
+            if (snapshot.getFirstBookingStatus() != null) {
+                result.append("First Booking Status: ").append(snapshot.getFirstBookingStatus()).append("\n");
+                result.append("First Booking Total Price: ").append(snapshot.getFirstBookingTotalPrice()).append("\n");
             }
             
         } catch (Exception e) {
@@ -130,28 +227,15 @@ public class DashboardController {
         
         try {
             // Get revenue from different booking statuses
-            BigDecimal pendingRevenue = bookingRepository.calculateTotalRevenueByStatus(BookingStatus.PENDING);
-            BigDecimal confirmedRevenue = bookingRepository.calculateTotalRevenueByStatus(BookingStatus.CONFIRMED);
-            BigDecimal completedRevenue = bookingRepository.calculateTotalRevenueByStatus(BookingStatus.COMPLETED);
-            BigDecimal canceledRevenue = bookingRepository.calculateTotalRevenueByStatus(BookingStatus.CANCELED);
-            BigDecimal deniedRevenue = bookingRepository.calculateTotalRevenueByStatus(BookingStatus.DENIED);
-            
-            BigDecimal totalRevenue = bookingRepository.calculateTotalRevenueFromAllBookings();
-            
-            result.append("Total Revenue (All Bookings): $").append(totalRevenue).append("\n");
-            result.append("Pending Revenue: $").append(pendingRevenue).append("\n");
-            result.append("Confirmed Revenue: $").append(confirmedRevenue).append("\n");
-            result.append("Completed Revenue: $").append(completedRevenue).append("\n");
-            result.append("Canceled Revenue: $").append(canceledRevenue).append("\n");
-            result.append("Denied Revenue: $").append(deniedRevenue).append("\n");
+            DiagnosticsSnapshotDTO snapshot = diagnosticsSnapshotService.getSnapshot(0);
+            result.append("Total Revenue (All Bookings): $").append(snapshot.getTotalRevenue()).append("\n");
+            snapshot.getRevenueByStatus().forEach((status, revenue) ->
+                    result.append(statusLabel(BookingStatus.valueOf(status))).append(" Revenue: $").append(revenue).append("\n"));
             
             // Show booking counts by status
             result.append("\n--- Booking Counts by Status ---\n");
-            result.append("Pending: ").append(bookingRepository.countByStatus(BookingStatus.PENDING)).append("\n");
-            result.append("Confirmed: ").append(bookingRepository.countByStatus(BookingStatus.CONFIRMED)).append("\n");
-            result.append("Completed: ").append(bookingRepository.countByStatus(BookingStatus.COMPLETED)).append("\n");
-            result.append("Canceled: ").append(bookingRepository.countByStatus(BookingStatus.CANCELED)).append("\n");
-            result.append("Denied: ").append(bookingRepository.countByStatus(BookingStatus.DENIED)).append("\n");
+            snapshot.getBookingsByStatus().forEach((status, count) ->
+                    result.append(statusLabel(BookingStatus.valueOf(status))).append(": ").append(count).append("\n"));
             
         } catch (Exception e) {
             result.append("Error: ").append(e.getMessage()).append("\n");
@@ -169,19 +253,18 @@ public class DashboardController {
         
         try {
             // Get revenue from approved bookings (CONFIRMED and COMPLETED)
-            BigDecimal confirmedRevenue = bookingRepository.calculateTotalRevenueByStatus(BookingStatus.CONFIRMED);
-            BigDecimal completedRevenue = bookingRepository.calculateTotalRevenueByStatus(BookingStatus.COMPLETED);
-            BigDecimal totalApprovedRevenue = bookingRepository.calculateTotalRevenueFromApprovedBookings();
-            
-            result.append("Total Approved Revenue (CONFIRMED + COMPLETED): $").append(totalApprovedRevenue).append("\n");
-            result.append("Confirmed Bookings Revenue: $").append(confirmedRevenue).append("\n");
-            result.append("Completed Bookings Revenue: $").append(completedRevenue).append("\n");
+            Map<String, Supplier<Object>> revenue = new LinkedHashMap<>();
+            revenue.put("Total Approved Revenue (CONFIRMED + COMPLETED)", bookingRepository::calculateTotalRevenueFromApprovedBookings);
+            revenue.put("Confirmed Bookings Revenue", () -> bookingRepository.calculateTotalRevenueByStatus(BookingStatus.CONFIRMED));
+            revenue.put("Completed Bookings Revenue", () -> bookingRepository.calculateTotalRevenueByStatus(BookingStatus.COMPLETED));
+            appendFigures(result, revenue);
             
             // Show booking counts for approved statuses
             result.append("\n--- Approved Booking Counts ---\n");
-            result.append("Confirmed Bookings: ").append(bookingRepository.countByStatus(BookingStatus.CONFIRMED)).append("\n");
-            result.append("Completed Bookings: ").append(bookingRepository.countByStatus(BookingStatus.COMPLETED)).append("\n");
-            result.append("Total Approved Bookings: ").append(bookingRepository.countByStatus(BookingStatus.CONFIRMED) + bookingRepository.countByStatus(BookingStatus.COMPLETED)).append("\n");
+            Map<String, Supplier<Object>> counts = new LinkedHashMap<>();
+            counts.put("Confirmed Bookings", () -> bookingRepository.countByStatus(BookingStatus.CONFIRMED));
+            counts.put("Completed Bookings", () -> bookingRepository.countByStatus(BookingStatus.COMPLETED));
+            appendFigures(result, counts);
             
         } catch (Exception e) {
             result.append("Error: ").append(e.getMessage()).append("\n");
@@ -193,34 +276,26 @@ public class DashboardController {
     }
 
     @GetMapping("/debug-beds")
-    public ResponseEntity<String> getBedDebugInfo() {
+    public ResponseEntity<String> getBedDebugInfo(
+            @RequestParam(defaultValue = "" + DiagnosticsSnapshotService.DEFAULT_SAMPLE) int sample) {
         StringBuilder result = new StringBuilder();
         result.append("=== Bed Debug Information ===\n");
         
         try {
-            List<Bed> allBeds = bedRepository.findAll();
-            result.append("Total Beds in Database: ").append(allBeds.size()).append("\n\n");
+            DiagnosticsSnapshotDTO snapshot = diagnosticsSnapshotService.getSnapshot(sample);
+            result.append("Total Beds in Database: ").append(snapshot.getTotalBeds()).append("\n");
+            result.append("Showing first ").append(snapshot.getBedSample().size()).append(" beds\n\n");
             
-            for (Bed bed : allBeds) {
+            for (DiagnosticsSnapshotDTO.BedDetail bed : snapshot.getBedSample()) {
                 result.append("Bed ID: ").append(bed.getId()).append("\n");
                 result.append("- Bed Number: ").append(bed.getBedNumber()).append("\n");
-                result.append("- Room ID: ").append(bed.getRoom() != null ? bed.getRoom().getId() : "N/A").append("\n");
+                result.append("- Room ID: ").append(bed.getRoomId() != null ? bed.getRoomId() : "N/A").append("\n");
                 result.append("- isAvailable: ").append(bed.getIsAvailable()).append("\n");
                 result.append("- isAvailableForBooking: ").append(bed.getIsAvailableForBooking()).append("\n");
                 result.append("- Price: ").append(bed.getPricePerNight()).append("\n");
                 
-                // Check for active bookings
-                List<Booking> activeBookings = bookingRepository.findByBedId(bed.getId()).stream()
-                    .filter(booking -> 
-                        (booking.getStatus() == Booking.BookingStatus.PENDING ||
-                         booking.getStatus() == Booking.BookingStatus.CONFIRMED ||
-                         booking.getStatus() == Booking.BookingStatus.COMPLETED) &&
-                        booking.getCheckOutDate().isAfter(java.time.LocalDate.now())
-                    )
-                    .collect(Collectors.toList());
-                
-                result.append("- Active Bookings: ").append(activeBookings.size()).append("\n");
-                for (Booking booking : activeBookings) {
+                result.append("- Active Bookings: ").append(bed.getActiveBookings().size()).append("\n");
+                for (DiagnosticsSnapshotDTO.ActiveBooking booking : bed.getActiveBookings()) {
                     result.append("  * Booking ID: ").append(booking.getId())
                           .append(", Status: ").append(booking.getStatus())
                           .append(", Check-in: ").append(booking.getCheckInDate())
@@ -319,4 +394,23 @@ public class DashboardController {
         result.append("============================\n");
         return ResponseEntity.ok(result.toString());
     }
-} 
\ No newline at end of file
+
+    // Runs every figure as its own query at the same time and prints them in order; late ones are marked stale
+    private void appendFigures(StringBuilder out, Map<String, Supplier<Object>> figures) {
+        DashboardQueryFanOut.Batch batch = queryFanOut.begin();
+        Map<String, Future<Object>> running = new LinkedHashMap<>();
+        figures.forEach((label, query) -> running.put(label, batch.submit("debug:" + label, query)));
+        running.forEach((label, query) -> {
+            Object value = batch.await("debug:" + label, query);
+            out.append(label).append(": ").append(value instanceof BigDecimal ? "$" + value : value);
+            if (batch.isStale("debug:" + label)) {
+                out.append(" (stale)");
+            }
+            out.append("\n");
+        });
+    }
+
+    private static String statusLabel(BookingStatus status) {
+        return status.name().charAt(0) + status.name().substring(1).toLowerCase();
+    }
+}
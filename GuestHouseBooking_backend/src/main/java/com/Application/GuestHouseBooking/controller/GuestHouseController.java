@@ -16,6 +16,8 @@ import com.Application.GuestHouseBooking.dtos.GuestHouseDTO;
 import com.Application.GuestHouseBooking.entity.GuestHouse;
 import com.Application.GuestHouseBooking.repository.GuestHouseRepository;
 import com.Application.GuestHouseBooking.service.GuestHouseServices;
+import com.Application.GuestHouseBooking.service.implementations.CatalogCache;
+import com.Application.GuestHouseBooking.service.implementations.KeysetPaging;
 
 @RestController
 @RequestMapping("/api/guesthouses")
@@ -28,6 +30,12 @@ public class GuestHouseController {
     @Autowired
     private GuestHouseRepository guestHouseRepository;
 
+    @Autowired
+    private KeysetPaging keysetPaging;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
     @PostMapping
     public ResponseEntity<GuestHouseDTO> createGuestHouse(@RequestBody GuestHouseDTO guestHouseDTO) {
         GuestHouseDTO createdGuestHouse = guestHouseService.createGuestHouse(guestHouseDTO);
@@ -41,8 +49,22 @@ public class GuestHouseController {
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    // Pages of guest houses in creation order; ?all=true returns the whole list and is admin-only
     @GetMapping
-    public ResponseEntity<List<GuestHouseDTO>> getAllGuestHouses() {
+    public ResponseEntity<?> getAllGuestHouses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean all) {
+        if (!all) {
+            try {
+                return new ResponseEntity<>(guestHouseService.getGuestHousesPage(cursor, size), HttpStatus.OK);
+            } catch (RuntimeException e) {
+                return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+            }
+        }
+        if (!keysetPaging.callerIsAdmin()) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
         try {
             List<GuestHouseDTO> guestHouses = guestHouseService.getAllGuestHouses();
             System.out.println("Successfully fetched " + guestHouses.size() + " guest houses");
@@ -54,6 +76,12 @@ public class GuestHouseController {
         }
     }
 
+    // Hit ratios of the second-level cache regions holding guest houses, rooms and beds
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return new ResponseEntity<>(catalogCache.stats(), HttpStatus.OK);
+    }
+
     @GetMapping("/with-rooms")
     public ResponseEntity<List<GuestHouseDTO>> getAllGuestHousesWithRooms() {
         try {
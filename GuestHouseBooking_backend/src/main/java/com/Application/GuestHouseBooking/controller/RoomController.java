@@ -14,10 +14,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.Application.GuestHouseBooking.dtos.RoomDTO;
 import com.Application.GuestHouseBooking.service.implementations.RoomServiceImplementations;
+import com.Application.GuestHouseBooking.service.implementations.KeysetPaging;
 
 @RestController
 @RequestMapping("/api/rooms")
@@ -26,6 +28,9 @@ public class RoomController {
     @Autowired
     private RoomServiceImplementations roomService;
 
+    @Autowired
+    private KeysetPaging keysetPaging;
+
     @PostMapping
     public ResponseEntity<RoomDTO> createRoom(@RequestBody RoomDTO roomDTO) {
         try {
@@ -44,10 +49,24 @@ public class RoomController {
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    // Pages of rooms in creation order; ?all=true returns the whole list and is admin-only
     @GetMapping
-    public ResponseEntity<List<RoomDTO>> getAllRooms() {
-        List<RoomDTO> rooms = roomService.getAllRooms();
-        return new ResponseEntity<>(rooms, HttpStatus.OK);
+    public ResponseEntity<?> getAllRooms(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean all) {
+        if (all) {
+            if (!keysetPaging.callerIsAdmin()) {
+                return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            }
+            List<RoomDTO> rooms = roomService.getAllRooms();
+            return new ResponseEntity<>(rooms, HttpStatus.OK);
+        }
+        try {
+            return new ResponseEntity<>(roomService.getRoomsPage(cursor, size), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @GetMapping("/by-guesthouse/{guestHouseId}")
@@ -13,10 +13,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.Application.GuestHouseBooking.dtos.UserDTO;
 import com.Application.GuestHouseBooking.service.implementations.UserServiceImplementations;
+import com.Application.GuestHouseBooking.service.implementations.KeysetPaging;
 
 @RestController
 @RequestMapping("/api/users")
@@ -24,6 +26,9 @@ public class UserController {
     @Autowired
     private UserServiceImplementations userService;
 
+    @Autowired
+    private KeysetPaging keysetPaging;
+
     @PostMapping("/register")
     public ResponseEntity<UserDTO> registerUser(@RequestBody UserDTO userDTO) {
         try {
@@ -43,10 +48,24 @@ public class UserController {
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    // Pages of users in creation order; ?all=true returns the whole list and is admin-only
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
-        return new ResponseEntity<>(users, HttpStatus.OK);
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean all) {
+        if (all) {
+            if (!keysetPaging.callerIsAdmin()) {
+                return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            }
+            List<UserDTO> users = userService.getAllUsers();
+            return new ResponseEntity<>(users, HttpStatus.OK);
+        }
+        try {
+            return new ResponseEntity<>(userService.getUsersPage(cursor, size), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,25 @@
+package com.Application.GuestHouseBooking.dtos;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class AvailabilitySearchResultDTO {
+    private Long guestHouseId;
+    private String guestHouseName;
+    private String city;
+    private Integer freeBeds;
+    private List<FreeBed> beds = new ArrayList<>();
+
+    @Data
+    public static class FreeBed {
+        private Long bedId;
+        private String bedNumber;
+        private Long roomId;
+        private String roomNumber;
+        private BigDecimal pricePerNight;
+    }
+}
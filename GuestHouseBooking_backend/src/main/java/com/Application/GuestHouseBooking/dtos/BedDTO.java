@@ -27,6 +27,9 @@ public class BedDTO {
     @NotNull(message = "Price per night is required")
     @DecimalMin(value = "0.01", message = "Price must be greater than 0")
     private BigDecimal pricePerNight;
+
+    // Derived from bookings: true when an active booking holds the bed tonight
+    private Boolean occupiedToday;
     
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -0,0 +1,15 @@
+package com.Application.GuestHouseBooking.dtos;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+// Outcome of one bed-flag reconciliation run
+@Data
+public class BedReconciliationDTO {
+    private String trigger; // "scheduled" or "manual"
+    private LocalDateTime startedAt;
+    private LocalDateTime windowStart; // Bookings checked out or updated since then were considered; null on the first run
+    private Long durationMillis;
+    private Integer rowsChanged;
+}
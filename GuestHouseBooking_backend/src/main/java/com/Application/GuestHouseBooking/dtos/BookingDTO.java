@@ -20,6 +20,7 @@ public class BookingDTO {
     private Booking.BookingStatus status;
     private BigDecimal totalPrice;
     private String purpose;
+    private String holdId; // Hold taken on the bed while the form was filled in, released once booked
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String createdBy;
@@ -0,0 +1,15 @@
+package com.Application.GuestHouseBooking.dtos;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import lombok.Data;
+
+@Data
+public class BookingHoldDTO {
+    private String holdId;
+    private Long bedId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private Instant expiresAt;
+}
@@ -0,0 +1,40 @@
+package com.Application.GuestHouseBooking.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+// Returned with a 409 when the requested bed is taken for the requested dates
+@Data
+public class BookingSuggestionsDTO {
+    private String message;
+    private Long bedId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+
+    // Same bed, same number of nights, nearest to the requested check-in first
+    private List<DateWindow> alternativeDates = new ArrayList<>();
+
+    // Other beds free for the requested dates, same room first
+    private List<AlternativeBed> alternativeBeds = new ArrayList<>();
+
+    @Data
+    public static class DateWindow {
+        private LocalDate checkInDate;
+        private LocalDate checkOutDate;
+        private Long daysFromRequested; // Negative when the window starts earlier than requested
+    }
+
+    @Data
+    public static class AlternativeBed {
+        private Long bedId;
+        private String bedNumber;
+        private Long roomId;
+        private String roomNumber;
+        private Boolean sameRoom;
+        private BigDecimal pricePerNight;
+    }
+}
@@ -1,6 +1,8 @@
 package com.Application.GuestHouseBooking.dtos;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 import lombok.Data;
 
@@ -30,4 +32,8 @@ public class DashboardStatsDTO {
     private Long totalNightsCompleted;
     private Long averageStayDuration;
     private BigDecimal averageBookingValue;
+
+    // Set when some figures missed the query deadline and come from the last successful computation (or are null)
+    private Boolean stale = false;
+    private List<String> staleSections = new ArrayList<>();
 } 
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.Application.GuestHouseBooking.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class DiagnosticsSnapshotDTO {
+    private LocalDateTime generatedAt;
+
+    // Catalog counts
+    private Long totalGuestHouses;
+    private Long totalRooms;
+    private Long totalBeds;
+    private Long totalUsers;
+    private Long totalBookings;
+    private Long occupiedBeds;
+    private Long availableBeds;
+
+    // Bookings and revenue (sum of total price) per status
+    private Map<String, Long> bookingsByStatus = new LinkedHashMap<>();
+    private Map<String, BigDecimal> revenueByStatus = new LinkedHashMap<>();
+    private BigDecimal totalRevenue;
+
+    // The first row of each table, to show the database is readable
+    private String firstGuestHouseName;
+    private String firstBedNumber;
+    private Boolean firstBedAvailableForBooking;
+    private String firstBookingStatus;
+    private BigDecimal firstBookingTotalPrice;
+
+    // Per-bed detail for the first beds by ID only
+    private Integer bedSampleSize;
+    private List<BedDetail> bedSample = new ArrayList<>();
+
+    @Data
+    public static class BedDetail {
+        private Long id;
+        private String bedNumber;
+        private Long roomId;
+        private Boolean isAvailable;
+        private Boolean isAvailableForBooking;
+        private BigDecimal pricePerNight;
+        private List<ActiveBooking> activeBookings = new ArrayList<>();
+    }
+
+    @Data
+    public static class ActiveBooking {
+        private Long id;
+        private String status;
+        private LocalDate checkInDate;
+        private LocalDate checkOutDate;
+    }
+}
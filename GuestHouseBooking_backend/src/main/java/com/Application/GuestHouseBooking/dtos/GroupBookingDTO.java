@@ -0,0 +1,33 @@
+package com.Application.GuestHouseBooking.dtos;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.Application.GuestHouseBooking.entity.Booking;
+
+import lombok.Data;
+
+@Data
+public class GroupBookingDTO {
+    private Long userId;
+    private Long guestHouseId; // Optional: keep the whole group in this guest house
+    private String city; // Optional: search this city when no guest house is given
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private Booking.BookingStatus status;
+    private String purpose;
+
+    // One bed is reserved per guest
+    private List<Guest> guests = new ArrayList<>();
+
+    @Data
+    public static class Guest {
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String phoneNumber;
+        private String gender;
+        private String address;
+    }
+}
@@ -0,0 +1,27 @@
+package com.Application.GuestHouseBooking.dtos;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+@Data
+public class GuestHouseStatsDTO {
+    private Long guestHouseId;
+    private String guestHouseName;
+    private String city;
+
+    // Catalog, independent of the date filter
+    private Long totalRooms;
+    private Long totalBeds;
+    private Long occupiedBeds; // Held by an active booking tonight
+
+    // Bookings checking in within the requested period (all time when no dates are given)
+    private Long totalBookings;
+    private Long pendingBookings;
+    private Long confirmedBookings;
+    private Long completedBookings;
+    private Long canceledBookings;
+    private Long deniedBookings;
+    private Long distinctGuests;
+    private BigDecimal approvedRevenue; // CONFIRMED + COMPLETED
+}
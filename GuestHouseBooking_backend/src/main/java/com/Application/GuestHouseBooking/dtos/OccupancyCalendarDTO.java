@@ -0,0 +1,22 @@
+package com.Application.GuestHouseBooking.dtos;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class OccupancyCalendarDTO {
+    private Long guestHouseId;
+    private String guestHouseName;
+    private Long totalBeds;
+    private List<Day> days = new ArrayList<>();
+
+    @Data
+    public static class Day {
+        private LocalDate date;
+        private Integer occupiedBeds;
+        private Long freeBeds;
+    }
+}
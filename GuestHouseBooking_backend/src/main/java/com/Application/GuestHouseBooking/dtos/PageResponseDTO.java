@@ -0,0 +1,15 @@
+package com.Application.GuestHouseBooking.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+// One page of a keyset-paginated list; pass nextCursor back as ?cursor= to get the following page
+@Data
+public class PageResponseDTO<T> {
+    private List<T> items = new ArrayList<>();
+    private String nextCursor; // Null on the last page
+    private boolean hasNext;
+    private int size;
+}
@@ -0,0 +1,28 @@
+package com.Application.GuestHouseBooking.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class TimeSeriesDTO {
+    private String granularity;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long totalBeds;
+    private List<Point> points = new ArrayList<>();
+
+    @Data
+    public static class Point {
+        private LocalDate bucketStart;
+        private LocalDate bucketEnd; // Last day of the bucket, inclusive
+        private Long bookings; // Bookings checking in during the bucket
+        private BigDecimal revenue; // Approved revenue of bookings checking out during the bucket
+        private Long occupiedNights;
+        private Double occupancyRate; // Percentage of bed-nights in the bucket that were booked
+        private Boolean closed; // Whether the bucket lies entirely in the past
+    }
+}
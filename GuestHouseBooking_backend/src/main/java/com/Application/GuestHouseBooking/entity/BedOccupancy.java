@@ -0,0 +1,43 @@
+package com.Application.GuestHouseBooking.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One night of an active booking on a bed. Derived from bookings, never edited directly.
+@Entity
+@Table(name = "bed_occupancy", indexes = {
+        @Index(name = "idx_bed_occupancy_date_bed", columnList = "stay_date, bed_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BedOccupancy {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "bed_id", nullable = false)
+    private Long bedId;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(name = "booking_id", nullable = false)
+        private Long bookingId;
+
+        @Column(name = "stay_date", nullable = false)
+        private LocalDate stayDate;
+    }
+}
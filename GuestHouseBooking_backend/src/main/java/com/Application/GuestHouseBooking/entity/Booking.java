@@ -3,6 +3,8 @@ package com.Application.GuestHouseBooking.entity;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -22,6 +24,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -31,7 +34,11 @@ import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
 @Entity
-@Table(name = "booking")
+@Table(name = "booking", indexes = {
+        @Index(name = "idx_booking_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_booking_status_check_in_user", columnList = "status, check_in_date, user_id"),
+        @Index(name = "idx_booking_status_created_at_id", columnList = "status, created_at, id")
+})
 @Data
 @EntityListeners(AuditingEntityListener.class)
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
@@ -117,7 +124,16 @@ public class Booking {
     // --- End of Auditing fields ---
 
     public enum BookingStatus {
-        PENDING, CONFIRMED, CANCELED, COMPLETED, DENIED
+        PENDING, CONFIRMED, CANCELED, COMPLETED, DENIED;
+
+        // A booking in one of these states holds its bed for the booked dates
+        public boolean isActive() {
+            return this == PENDING || this == CONFIRMED || this == COMPLETED;
+        }
+
+        public static Set<BookingStatus> activeStatuses() {
+            return EnumSet.of(PENDING, CONFIRMED, COMPLETED);
+        }
     }
 
     @Override
@@ -0,0 +1,76 @@
+package com.Application.GuestHouseBooking.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Booking totals for one guest house on one day. Derived from bookings, never edited directly.
+@Entity
+@Table(name = "booking_daily_stats")
+@Data
+@NoArgsConstructor
+public class BookingDailyStats {
+
+    @EmbeddedId
+    private Key id;
+
+    // Bookings of any status checking in on this day
+    @Column(nullable = false)
+    private Long checkIns = 0L;
+
+    // Completed bookings checking in on this day, and the distinct users behind them
+    @Column(nullable = false)
+    private Long completedCheckIns = 0L;
+
+    @Column(nullable = false)
+    private Long completedGuests = 0L;
+
+    // Completed bookings holding a bed on the night starting this day
+    @Column(nullable = false)
+    private Long completedNights = 0L;
+
+    // Active bookings of any status holding a bed on the night starting this day
+    @Column(nullable = false)
+    private Long occupiedNights = 0L;
+
+    // Revenue of bookings checking out on this day, by status
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal pendingRevenue = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal confirmedRevenue = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal completedRevenue = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal canceledRevenue = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal deniedRevenue = BigDecimal.ZERO;
+
+    public BookingDailyStats(Key id) {
+        this.id = id;
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(name = "stat_date", nullable = false)
+        private LocalDate statDate;
+
+        @Column(name = "guest_house_id", nullable = false)
+        private Long guestHouseId;
+    }
+}
@@ -0,0 +1,52 @@
+package com.Application.GuestHouseBooking.events;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.Application.GuestHouseBooking.entity.Booking;
+import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by the booking service whenever a booking is created, updated or deleted
+@Getter
+@AllArgsConstructor
+public class BookingChangedEvent {
+
+    private final Long bookingId;
+
+    private final Snapshot before; // null when the booking was just created
+
+    private final Snapshot after; // null when the booking was deleted
+
+    // The fields of a booking that availability and statistics depend on
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final Long bedId;
+        private final Long roomId;
+        private final Long guestHouseId;
+        private final String city;
+        private final LocalDate checkInDate;
+        private final LocalDate checkOutDate;
+        private final BookingStatus status;
+        private final BigDecimal totalPrice;
+
+        public static Snapshot of(Booking booking) {
+            return new Snapshot(
+                    booking.getBed().getId(),
+                    booking.getBed().getRoom().getId(),
+                    booking.getBed().getRoom().getGuestHouse().getId(),
+                    booking.getBed().getRoom().getGuestHouse().getCity(),
+                    booking.getCheckInDate(),
+                    booking.getCheckOutDate(),
+                    booking.getStatus(),
+                    booking.getTotalPrice());
+        }
+
+        public boolean isActive() {
+            return status != null && status.isActive();
+        }
+    }
+}
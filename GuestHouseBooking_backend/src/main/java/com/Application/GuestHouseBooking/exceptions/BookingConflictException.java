@@ -0,0 +1,17 @@
+package com.Application.GuestHouseBooking.exceptions;
+
+import com.Application.GuestHouseBooking.dtos.BookingSuggestionsDTO;
+
+import lombok.Getter;
+
+// Thrown when the requested bed is already booked; carries alternatives the caller can offer instead
+@Getter
+public class BookingConflictException extends RuntimeException {
+
+    private final BookingSuggestionsDTO suggestions;
+
+    public BookingConflictException(String message, BookingSuggestionsDTO suggestions) {
+        super(message);
+        this.suggestions = suggestions;
+    }
+}
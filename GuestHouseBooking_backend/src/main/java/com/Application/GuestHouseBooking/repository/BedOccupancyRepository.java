@@ -0,0 +1,41 @@
+package com.Application.GuestHouseBooking.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.Application.GuestHouseBooking.entity.BedOccupancy;
+
+@Repository
+public interface BedOccupancyRepository extends JpaRepository<BedOccupancy, BedOccupancy.Key> {
+
+    // Beds held by an active booking on the given night
+    @Query("SELECT DISTINCT o.bedId FROM BedOccupancy o WHERE o.id.stayDate = :date")
+    List<Long> findOccupiedBedIds(@Param("date") LocalDate date);
+
+    @Query("SELECT DISTINCT o.bedId FROM BedOccupancy o, Bed b " +
+           "WHERE b.id = o.bedId AND b.room.id = :roomId AND o.id.stayDate = :date")
+    List<Long> findOccupiedBedIdsInRoom(@Param("roomId") Long roomId, @Param("date") LocalDate date);
+
+    @Query("SELECT DISTINCT o.bedId FROM BedOccupancy o WHERE o.bedId IN :bedIds AND o.id.stayDate = :date")
+    List<Long> findOccupiedBedIdsAmong(@Param("bedIds") Collection<Long> bedIds, @Param("date") LocalDate date);
+
+    boolean existsByBedIdAndIdStayDate(Long bedId, LocalDate stayDate);
+
+    @Query("SELECT COUNT(DISTINCT o.bedId) FROM BedOccupancy o WHERE o.id.stayDate = :date")
+    Long countOccupiedBeds(@Param("date") LocalDate date);
+
+    @Modifying
+    @Query("DELETE FROM BedOccupancy o WHERE o.id.bookingId = :bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Query("DELETE FROM BedOccupancy o WHERE o.id.stayDate < :date")
+    int deleteNightsBefore(@Param("date") LocalDate date);
+}
@@ -1,14 +1,26 @@
 package com.Application.GuestHouseBooking.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 
 import com.Application.GuestHouseBooking.entity.Bed;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface BedRepository extends JpaRepository<Bed, Long> {
     List<Bed> findByRoomId(Long roomId);
@@ -37,4 +49,74 @@ public interface BedRepository extends JpaRepository<Bed, Long> {
            "WHERE bk.status IN ('PENDING', 'CONFIRMED', 'COMPLETED') " +
            "AND bk.checkOutDate >= CURRENT_DATE)")
     Long countActuallyAvailableBeds();
-}
\ No newline at end of file
+
+    // Releases beds still flagged as booked by a completed stay that checked out before :today, unless an active
+    // booking still holds the bed after :today. Only beds touched since the watermark are looked at: a completed stay
+    // that checked out on or after :fromDate, or any booking of the bed updated since :fromTime. The latter catches a
+    // bed that an earlier run skipped because of a future booking that has since been cancelled, denied or moved.
+    @Modifying
+    @Transactional
+    @Query("UPDATE Bed b SET b.isAvailable = true, b.isAvailableForBooking = true, b.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE (b.isAvailable = false OR b.isAvailableForBooking = false) " +
+           "AND EXISTS (SELECT 1 FROM Booking bk WHERE bk.bed = b AND bk.status = 'COMPLETED' AND bk.checkOutDate < :today) " +
+           "AND (EXISTS (SELECT 1 FROM Booking recent WHERE recent.bed = b AND recent.status = 'COMPLETED' " +
+           "AND recent.checkOutDate < :today AND recent.checkOutDate >= :fromDate) " +
+           "OR EXISTS (SELECT 1 FROM Booking changed WHERE changed.bed = b AND changed.updatedAt >= :fromTime)) " +
+           "AND NOT EXISTS (SELECT 1 FROM Booking active WHERE active.bed = b " +
+           "AND active.status IN ('PENDING', 'CONFIRMED', 'COMPLETED') AND active.checkOutDate > :today)")
+    int releaseBedsAfterCompletedStays(@Param("today") LocalDate today,
+                                       @Param("fromDate") LocalDate fromDate,
+                                       @Param("fromTime") LocalDateTime fromTime);
+
+    Optional<Bed> findFirstByOrderByIdAsc();
+
+    // Keyset page: the beds after (createdAt, id) in index order; backed by idx_bed_created_at_id
+    @Query("SELECT b FROM Bed b JOIN FETCH b.room WHERE b.createdAt >= :createdAt " +
+           "AND (b.createdAt > :createdAt OR b.id > :id) ORDER BY b.createdAt, b.id")
+    Slice<Bed> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    interface BedSample {
+        Long getId();
+        String getBedNumber();
+        Long getRoomId();
+        Boolean getIsAvailable();
+        Boolean getIsAvailableForBooking();
+        BigDecimal getPricePerNight();
+    }
+
+    // Beds in ID order without loading their rooms; the page bounds how many
+    @Query("SELECT b.id AS id, b.bedNumber AS bedNumber, b.room.id AS roomId, b.isAvailable AS isAvailable, " +
+           "b.isAvailableForBooking AS isAvailableForBooking, b.pricePerNight AS pricePerNight FROM Bed b ORDER BY b.id")
+    List<BedSample> sampleBeds(Pageable page);
+
+    // Where a bed is, flattened for availability search results
+    interface BedLocation {
+        Long getBedId();
+        String getBedNumber();
+        BigDecimal getPricePerNight();
+        Long getRoomId();
+        String getRoomNumber();
+        Long getGuestHouseId();
+        String getGuestHouseName();
+        String getCity();
+    }
+
+    // Bookable beds with their room and guest house, optionally limited to a city and/or one guest house
+    @Query("SELECT b.id AS bedId, b.bedNumber AS bedNumber, b.pricePerNight AS pricePerNight, " +
+           "r.id AS roomId, r.roomNumber AS roomNumber, gh.id AS guestHouseId, gh.name AS guestHouseName, gh.city AS city " +
+           "FROM Bed b JOIN b.room r JOIN r.guestHouse gh " +
+           "WHERE b.isAvailable = true AND (:city IS NULL OR LOWER(gh.city) = LOWER(:city)) " +
+           "AND (:guestHouseId IS NULL OR gh.id = :guestHouseId) " +
+           "ORDER BY gh.name, r.roomNumber, b.bedNumber")
+    List<BedLocation> findBookableBedLocations(@Param("city") String city, @Param("guestHouseId") Long guestHouseId);
+
+    // Locks one bed until the surrounding transaction ends, serializing bookings for that bed only
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Bed b WHERE b.id = :id")
+    Optional<Bed> findByIdForUpdate(@Param("id") Long id);
+
+    // Locks the given beds until the surrounding transaction ends; ordered by ID so concurrent callers cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Bed b WHERE b.id IN :ids ORDER BY b.id")
+    List<Bed> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+}
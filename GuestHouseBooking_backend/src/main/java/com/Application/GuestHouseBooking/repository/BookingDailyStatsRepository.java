@@ -0,0 +1,66 @@
+package com.Application.GuestHouseBooking.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.Application.GuestHouseBooking.entity.BookingDailyStats;
+
+@Repository
+public interface BookingDailyStatsRepository extends JpaRepository<BookingDailyStats, BookingDailyStats.Key> {
+
+    interface PeriodTotals {
+        Long getCheckIns();
+        Long getCompletedCheckIns();
+        Long getCompletedNights();
+        BigDecimal getCompletedRevenue();
+        BigDecimal getApprovedRevenue();
+    }
+
+    // Totals for [startDate, endDate] across all guest houses. Nights stop at endDate, matching the raw
+    // report which clamps each stay to the range before counting nights. Distinct guests are not additive
+    // across days, so they are counted from the booking table instead (BookingRepository.countGuestVisits).
+    @Query("SELECT COALESCE(SUM(s.checkIns), 0) AS checkIns, " +
+           "COALESCE(SUM(s.completedCheckIns), 0) AS completedCheckIns, " +
+           "COALESCE(SUM(CASE WHEN s.id.statDate < :endDate THEN s.completedNights ELSE 0 END), 0) AS completedNights, " +
+           "COALESCE(SUM(s.completedRevenue), 0) AS completedRevenue, " +
+           "COALESCE(SUM(s.confirmedRevenue + s.completedRevenue), 0) AS approvedRevenue " +
+           "FROM BookingDailyStats s WHERE s.id.statDate >= :startDate AND s.id.statDate <= :endDate")
+    PeriodTotals sumPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    interface DayTotals {
+        LocalDate getStatDate();
+        Long getCheckIns();
+        BigDecimal getApprovedRevenue();
+        Long getOccupiedNights();
+    }
+
+    // All guest houses folded into one row per day of [startDate, endDate]; days without bookings are absent
+    @Query("SELECT s.id.statDate AS statDate, SUM(s.checkIns) AS checkIns, " +
+           "SUM(s.confirmedRevenue + s.completedRevenue) AS approvedRevenue, SUM(s.occupiedNights) AS occupiedNights " +
+           "FROM BookingDailyStats s WHERE s.id.statDate >= :startDate AND s.id.statDate <= :endDate " +
+           "GROUP BY s.id.statDate ORDER BY s.id.statDate")
+    List<DayTotals> sumByDay(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM BookingDailyStats s WHERE s.id.guestHouseId = :guestHouseId " +
+           "AND s.id.statDate >= :fromDate AND s.id.statDate <= :toDate")
+    int deleteRange(@Param("guestHouseId") Long guestHouseId,
+                    @Param("fromDate") LocalDate fromDate,
+                    @Param("toDate") LocalDate toDate);
+
+    @Modifying
+    @Query("DELETE FROM BookingDailyStats s WHERE s.id.guestHouseId = :guestHouseId")
+    int deleteGuestHouse(@Param("guestHouseId") Long guestHouseId);
+
+    @Modifying
+    @Query("DELETE FROM BookingDailyStats s WHERE s.id.guestHouseId NOT IN :guestHouseIds")
+    int deleteGuestHousesOtherThan(@Param("guestHouseIds") Collection<Long> guestHouseIds);
+}
@@ -2,17 +2,26 @@ package com.Application.GuestHouseBooking.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.Application.GuestHouseBooking.entity.Booking;
 import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByUserId(Long userId);
@@ -25,9 +34,9 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     // Find bookings by status and user
     List<Booking> findByStatusAndUserId(BookingStatus status, Long userId);
 
-    // Custom query to find existing bookings for a specific BED within a date range
+    // Active bookings on a BED that overlap the date range; canceled and denied bookings do not block it
     @Query("SELECT b FROM Booking b WHERE b.bed.id = :bedId " +
-           "AND b.status != 'CANCELLED' " +
+           "AND b.status IN ('PENDING', 'CONFIRMED', 'COMPLETED') " +
            "AND b.checkOutDate > :checkInDate " +
            "AND b.checkInDate < :checkOutDate")
     List<Booking> findByBedIdAndCheckOutDateAfterAndCheckInDateBefore(
@@ -35,84 +44,261 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("checkInDate") LocalDate checkInDate, 
             @Param("checkOutDate") LocalDate checkOutDate);
 
-    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b " +
-           "WHERE b.bed.id = :bedId " +
-           "AND b.status != 'CANCELLED' " +
-           "AND ((b.checkInDate <= :checkOut AND b.checkOutDate >= :checkIn))")
-    boolean existsByBedIdAndDateRange(
-        @Param("bedId") Long bedId,
-        @Param("checkIn") LocalDate checkIn,
-        @Param("checkOut") LocalDate checkOut
-    );
+    // Date range of a booking without loading the entity graph
+    interface BookingInterval {
+        Long getId();
+        Long getBedId();
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+    }
+
+    // Date ranges of all bookings in the given states, used to warm the in-memory availability index
+    @Query("SELECT b.id AS id, b.bed.id AS bedId, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate " +
+           "FROM Booking b WHERE b.status IN :statuses")
+    List<BookingInterval> findIntervalsByStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+
+    // Date ranges of one bed's bookings in the given states, in check-in order
+    @Query("SELECT b.id AS id, b.bed.id AS bedId, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate " +
+           "FROM Booking b WHERE b.bed.id = :bedId AND b.status IN :statuses ORDER BY b.checkInDate")
+    List<BookingInterval> findIntervalsByBedIdAndStatusIn(@Param("bedId") Long bedId,
+                                                          @Param("statuses") Collection<BookingStatus> statuses);
+
+    // Date range of an active booking tagged with its guest house, for occupancy sweeps
+    interface GuestHouseStay {
+        Long getGuestHouseId();
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+    }
+
+    // Active bookings overlapping [start, end), optionally limited to one guest house
+    @Query("SELECT gh.id AS guestHouseId, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate " +
+           "FROM Booking b JOIN b.bed bed JOIN bed.room r JOIN r.guestHouse gh " +
+           "WHERE b.status IN ('PENDING', 'CONFIRMED', 'COMPLETED') " +
+           "AND b.checkInDate < :end AND b.checkOutDate > :start " +
+           "AND (:guestHouseId IS NULL OR gh.id = :guestHouseId)")
+    List<GuestHouseStay> findActiveStaysOverlapping(
+            @Param("guestHouseId") Long guestHouseId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end);
+
+    // Upper bound for "free from a date onwards" checks in the free-bed queries below
+    LocalDate OPEN_ENDED = LocalDate.of(9999, 12, 31);
+
+    // Beds in a room with no active booking overlapping [checkIn, checkOut), in one statement
+    @Query("SELECT b.id FROM Bed b WHERE b.room.id = :roomId " +
+           "AND NOT EXISTS (SELECT 1 FROM Booking bk WHERE bk.bed = b " +
+           "AND bk.status IN ('PENDING', 'CONFIRMED', 'COMPLETED') " +
+           "AND bk.checkInDate < :checkOut AND bk.checkOutDate > :checkIn)")
+    List<Long> findFreeBedIdsInRoom(
+            @Param("roomId") Long roomId,
+            @Param("checkIn") LocalDate checkIn,
+            @Param("checkOut") LocalDate checkOut);
+
+    // Beds in a guest house with no active booking overlapping [checkIn, checkOut)
+    @Query("SELECT b.id FROM Bed b WHERE b.room.guestHouse.id = :guestHouseId " +
+           "AND NOT EXISTS (SELECT 1 FROM Booking bk WHERE bk.bed = b " +
+           "AND bk.status IN ('PENDING', 'CONFIRMED', 'COMPLETED') " +
+           "AND bk.checkInDate < :checkOut AND bk.checkOutDate > :checkIn)")
+    List<Long> findFreeBedIdsInGuestHouse(
+            @Param("guestHouseId") Long guestHouseId,
+            @Param("checkIn") LocalDate checkIn,
+            @Param("checkOut") LocalDate checkOut);
+
+    // Beds in a city (every city when city is null) with no active booking overlapping [checkIn, checkOut)
+    @Query("SELECT b.id FROM Bed b WHERE (:city IS NULL OR LOWER(b.room.guestHouse.city) = LOWER(:city)) " +
+           "AND NOT EXISTS (SELECT 1 FROM Booking bk WHERE bk.bed = b " +
+           "AND bk.status IN ('PENDING', 'CONFIRMED', 'COMPLETED') " +
+           "AND bk.checkInDate < :checkOut AND bk.checkOutDate > :checkIn)")
+    List<Long> findFreeBedIdsInCity(
+            @Param("city") String city,
+            @Param("checkIn") LocalDate checkIn,
+            @Param("checkOut") LocalDate checkOut);
 
     // Get all active bookings (not cancelled or denied)
-    @Query("SELECT b FROM Booking b WHERE b.status NOT IN ('CANCELLED', 'DENIED')")
-    List<Booking> findAllActiveBookings();
-
-    // New query to fetch all bookings with eager loading of related entities
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.bed bed " +
-           "LEFT JOIN FETCH bed.room room " +
-           "LEFT JOIN FETCH room.guestHouse gh " +
-           "LEFT JOIN FETCH b.user")
-    List<Booking> findAllWithDetails();
-
-    // Get booking by ID with all details
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.bed bed " +
-           "LEFT JOIN FETCH bed.room room " +
-           "LEFT JOIN FETCH room.guestHouse gh " +
-           "LEFT JOIN FETCH b.user " +
-           "WHERE b.id = :id")
-    Optional<Booking> findByIdWithDetails(@Param("id") Long id);
-
-    // Get bookings by user ID with all details
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.bed bed " +
-           "LEFT JOIN FETCH bed.room room " +
-           "LEFT JOIN FETCH room.guestHouse gh " +
-           "LEFT JOIN FETCH b.user " +
-           "WHERE b.user.id = :userId")
-    List<Booking> findByUserIdWithDetails(@Param("userId") Long userId);
-
-    // Get bookings by bed ID with all details
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.bed bed " +
-           "LEFT JOIN FETCH bed.room room " +
-           "LEFT JOIN FETCH room.guestHouse gh " +
-           "LEFT JOIN FETCH b.user " +
-           "WHERE b.bed.id = :bedId")
-    List<Booking> findByBedIdWithDetails(@Param("bedId") Long bedId);
-
-    // Get bookings by status with all details
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.bed bed " +
-           "LEFT JOIN FETCH bed.room room " +
-           "LEFT JOIN FETCH room.guestHouse gh " +
-           "LEFT JOIN FETCH b.user " +
-           "WHERE b.status = :status")
-    List<Booking> findByStatusWithDetails(@Param("status") BookingStatus status);
-
-    // Get bookings by status and user ID with all details
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.bed bed " +
-           "LEFT JOIN FETCH bed.room room " +
-           "LEFT JOIN FETCH room.guestHouse gh " +
-           "LEFT JOIN FETCH b.user " +
-           "WHERE b.status = :status AND b.user.id = :userId")
-    List<Booking> findByStatusAndUserIdWithDetails(@Param("status") BookingStatus status, @Param("userId") Long userId);
-
-    // Get all active bookings with all details
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.bed bed " +
-           "LEFT JOIN FETCH bed.room room " +
-           "LEFT JOIN FETCH room.guestHouse gh " +
-           "LEFT JOIN FETCH b.user " +
-           "WHERE b.status NOT IN ('CANCELLED', 'DENIED')")
-    List<Booking> findAllActiveBookingsWithDetails();
+    // Pass BookingStatus.activeStatuses()
+    @Query("SELECT b FROM Booking b WHERE b.status IN :statuses")
+    List<Booking> findAllActiveBookings(@Param("statuses") Collection<BookingStatus> statuses);
+
+    // Exactly the columns BookingDTO is built from, read as flat rows so no entities are hydrated or dirty-tracked
+    interface BookingView {
+        Long getId();
+        Long getUserId();
+        String getUserFirstName();
+        String getUserLastName();
+        Long getBedId();
+        String getBedNumber();
+        Long getRoomId();
+        String getRoomNumber();
+        Long getGuestHouseId();
+        String getGuestHouseName();
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+        BookingStatus getStatus();
+        BigDecimal getTotalPrice();
+        String getPurpose();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        String getCreatedBy();
+        String getLastModifiedBy();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+        String getPhoneNumber();
+        String getGender();
+        String getAddress();
+        String getRejectionReason();
+        String getCancellationReason();
+    }
+
+    String BOOKING_VIEW = "SELECT b.id AS id, u.id AS userId, u.firstName AS userFirstName, u.lastName AS userLastName, " +
+           "bed.id AS bedId, bed.bedNumber AS bedNumber, room.id AS roomId, room.roomNumber AS roomNumber, " +
+           "gh.id AS guestHouseId, gh.name AS guestHouseName, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, " +
+           "b.status AS status, b.totalPrice AS totalPrice, b.purpose AS purpose, b.createdAt AS createdAt, " +
+           "b.updatedAt AS updatedAt, b.createdBy AS createdBy, b.lastModifiedBy AS lastModifiedBy, " +
+           "b.firstName AS firstName, b.lastName AS lastName, b.email AS email, b.phoneNumber AS phoneNumber, " +
+           "b.gender AS gender, b.address AS address, b.rejectionReason AS rejectionReason, " +
+           "b.cancellationReason AS cancellationReason " +
+           "FROM Booking b JOIN b.bed bed JOIN bed.room room JOIN room.guestHouse gh LEFT JOIN b.user u ";
+
+    @Query(BOOKING_VIEW)
+    List<BookingView> findAllViews();
+
+    @Query(BOOKING_VIEW + "WHERE b.id = :id")
+    Optional<BookingView> findViewById(@Param("id") Long id);
+
+    @Query(BOOKING_VIEW + "WHERE u.id = :userId")
+    List<BookingView> findViewsByUserId(@Param("userId") Long userId);
+
+    @Query(BOOKING_VIEW + "WHERE bed.id = :bedId")
+    List<BookingView> findViewsByBedId(@Param("bedId") Long bedId);
+
+    @Query(BOOKING_VIEW + "WHERE b.status = :status")
+    List<BookingView> findViewsByStatus(@Param("status") BookingStatus status);
+
+    @Query(BOOKING_VIEW + "WHERE b.status = :status AND u.id = :userId")
+    List<BookingView> findViewsByStatusAndUserId(@Param("status") BookingStatus status, @Param("userId") Long userId);
+
+    // Pass BookingStatus.activeStatuses()
+    @Query(BOOKING_VIEW + "WHERE b.status IN :statuses")
+    List<BookingView> findActiveViews(@Param("statuses") Collection<BookingStatus> statuses);
+
+    // Keyset page of all bookings; backed by idx_booking_created_at_id
+    @Query(BOOKING_VIEW + "WHERE b.createdAt >= :createdAt " +
+           "AND (b.createdAt > :createdAt OR b.id > :id) ORDER BY b.createdAt, b.id")
+    Slice<BookingView> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    // Keyset page of bookings of one status; backed by idx_booking_status_created_at_id
+    @Query(BOOKING_VIEW + "WHERE b.status = :status AND b.createdAt >= :createdAt " +
+           "AND (b.createdAt > :createdAt OR b.id > :id) ORDER BY b.createdAt, b.id")
+    Slice<BookingView> findPageByStatusAfter(@Param("status") BookingStatus status, @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id, Pageable page);
 
     Long countByStatus(BookingStatus status);
 
+    interface BookingTotals {
+        Long getTotalBookings();
+        Long getPendingBookings();
+        Long getConfirmedBookings();
+        Long getCompletedBookings();
+        Long getCanceledBookings();
+        Long getDeniedBookings();
+        BigDecimal getApprovedRevenue();
+    }
+
+    // Booking counts per status and approved (CONFIRMED + COMPLETED) revenue in a single pass over the table
+    @Query("SELECT COUNT(b) AS totalBookings, " +
+           "COALESCE(SUM(CASE WHEN b.status = 'PENDING' THEN 1 ELSE 0 END), 0) AS pendingBookings, " +
+           "COALESCE(SUM(CASE WHEN b.status = 'CONFIRMED' THEN 1 ELSE 0 END), 0) AS confirmedBookings, " +
+           "COALESCE(SUM(CASE WHEN b.status = 'COMPLETED' THEN 1 ELSE 0 END), 0) AS completedBookings, " +
+           "COALESCE(SUM(CASE WHEN b.status = 'CANCELED' THEN 1 ELSE 0 END), 0) AS canceledBookings, " +
+           "COALESCE(SUM(CASE WHEN b.status = 'DENIED' THEN 1 ELSE 0 END), 0) AS deniedBookings, " +
+           "COALESCE(SUM(CASE WHEN b.status IN ('CONFIRMED', 'COMPLETED') THEN b.totalPrice ELSE 0 END), 0) AS approvedRevenue " +
+           "FROM Booking b")
+    BookingTotals summarizeBookings();
+
+    interface StatusTotals {
+        BookingStatus getStatus();
+        Long getBookings();
+        BigDecimal getRevenue();
+    }
+
+    // Number of bookings and sum of their total price for every status that has bookings
+    @Query("SELECT b.status AS status, COUNT(b) AS bookings, COALESCE(SUM(b.totalPrice), 0) AS revenue " +
+           "FROM Booking b GROUP BY b.status")
+    List<StatusTotals> summarizeByStatus();
+
+    Optional<Booking> findFirstByOrderByIdAsc();
+
+    interface ActiveBookingRow {
+        Long getId();
+        Long getBedId();
+        BookingStatus getStatus();
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+    }
+
+    // Active bookings on the given beds that have not checked out before :today
+    @Query("SELECT b.id AS id, b.bed.id AS bedId, b.status AS status, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate " +
+           "FROM Booking b WHERE b.bed.id IN :bedIds AND b.status IN ('PENDING', 'CONFIRMED', 'COMPLETED') " +
+           "AND b.checkOutDate > :today ORDER BY b.bed.id, b.checkInDate")
+    List<ActiveBookingRow> findActiveByBedIds(@Param("bedIds") Collection<Long> bedIds, @Param("today") LocalDate today);
+
+    // One flat row per booking for exports; no entities are loaded, so nothing accumulates in the session
+    interface BookingExportRow {
+        Long getId();
+        BookingStatus getStatus();
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+        BigDecimal getTotalPrice();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+        String getPhoneNumber();
+        Long getUserId();
+        String getGuestHouseName();
+        String getCity();
+        String getRoomNumber();
+        String getBedNumber();
+        String getPurpose();
+        LocalDateTime getCreatedAt();
+    }
+
+    // Forward-only read streamed row by row: Connector/J treats a fetch size of Integer.MIN_VALUE as "do not buffer
+    // the result set", for this statement only. The connection is busy until the stream is closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.id AS id, b.status AS status, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, " +
+           "b.totalPrice AS totalPrice, b.firstName AS firstName, b.lastName AS lastName, b.email AS email, " +
+           "b.phoneNumber AS phoneNumber, u.id AS userId, gh.name AS guestHouseName, gh.city AS city, " +
+           "r.roomNumber AS roomNumber, bd.bedNumber AS bedNumber, b.purpose AS purpose, b.createdAt AS createdAt " +
+           "FROM Booking b JOIN b.bed bd JOIN bd.room r JOIN r.guestHouse gh LEFT JOIN b.user u " +
+           "WHERE b.checkInDate >= :fromDate AND b.checkInDate <= :toDate AND b.status IN :statuses " +
+           "ORDER BY b.id")
+    Stream<BookingExportRow> streamForExport(@Param("fromDate") LocalDate fromDate,
+                                             @Param("toDate") LocalDate toDate,
+                                             @Param("statuses") Collection<BookingStatus> statuses);
+
+    // The fields of a booking the daily rollup is computed from
+    interface DailyStatsSource {
+        Long getUserId();
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+        BookingStatus getStatus();
+        BigDecimal getTotalPrice();
+    }
+
+    // Bookings in a guest house that check in, check out or stay within [fromDate, toDate]
+    @Query("SELECT u.id AS userId, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, " +
+           "b.status AS status, b.totalPrice AS totalPrice " +
+           "FROM Booking b LEFT JOIN b.user u " +
+           "WHERE b.bed.room.guestHouse.id = :guestHouseId " +
+           "AND b.checkInDate <= :toDate AND b.checkOutDate >= :fromDate")
+    List<DailyStatsSource> findDailyStatsSources(@Param("guestHouseId") Long guestHouseId,
+                                                 @Param("fromDate") LocalDate fromDate,
+                                                 @Param("toDate") LocalDate toDate);
+
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.checkInDate >= :startDate AND b.checkInDate <= :endDate")
     Long countBookingsInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
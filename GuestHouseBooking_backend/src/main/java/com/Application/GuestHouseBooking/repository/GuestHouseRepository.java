@@ -1,21 +1,130 @@
 package com.Application.GuestHouseBooking.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.Application.GuestHouseBooking.entity.GuestHouse;
 
 @Repository
 public interface GuestHouseRepository extends JpaRepository<GuestHouse, Long> {
-    @Query("SELECT DISTINCT gh FROM GuestHouse gh LEFT JOIN FETCH gh.rooms r LEFT JOIN FETCH r.beds b WHERE gh.id = ?1")
-    GuestHouse findByIdWithRooms(Long id);
+    Optional<GuestHouse> findFirstByOrderByIdAsc();
 
-    @Query("SELECT DISTINCT gh FROM GuestHouse gh LEFT JOIN FETCH gh.rooms r LEFT JOIN FETCH r.beds")
-    List<GuestHouse> findAllWithRooms();
+    // Keyset page: the guest houses after (createdAt, id) in index order; backed by idx_guest_house_created_at_id
+    @Query("SELECT gh FROM GuestHouse gh WHERE gh.createdAt >= :createdAt " +
+           "AND (gh.createdAt > :createdAt OR gh.id > :id) ORDER BY gh.createdAt, gh.id")
+    Slice<GuestHouse> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
 
-    @Query("SELECT DISTINCT gh FROM GuestHouse gh LEFT JOIN FETCH gh.rooms r LEFT JOIN FETCH r.beds")
-    List<GuestHouse> findAllWithAvailableBeds();
+    @Query("SELECT gh.id FROM GuestHouse gh ORDER BY gh.id")
+    List<Long> findAllIds();
+
+    interface GuestHouseBedCount {
+        Long getGuestHouseId();
+        String getGuestHouseName();
+        Long getTotalBeds();
+    }
+
+    // Number of beds in each guest house (or just one when guestHouseId is given)
+    @Query("SELECT gh.id AS guestHouseId, gh.name AS guestHouseName, COUNT(b.id) AS totalBeds " +
+           "FROM GuestHouse gh LEFT JOIN gh.rooms r LEFT JOIN r.beds b " +
+           "WHERE (:guestHouseId IS NULL OR gh.id = :guestHouseId) " +
+           "GROUP BY gh.id, gh.name ORDER BY gh.name")
+    List<GuestHouseBedCount> countBedsByGuestHouse(@Param("guestHouseId") Long guestHouseId);
+
+    interface CatalogTotals {
+        Long getTotalGuestHouses();
+        Long getTotalRooms();
+        Long getTotalBeds();
+        Long getTotalUsers();
+        Long getOccupiedBeds();
+        Long getAvailableBeds();
+    }
+
+    // Catalog-wide counts for the dashboard in one round trip. Occupied beds are those held tonight;
+    // available beds are bookable and have no active booking checking out on or after the given date.
+    @Query(value = "SELECT " +
+           "(SELECT COUNT(*) FROM guest_house) AS totalGuestHouses, " +
+           "(SELECT COUNT(*) FROM room) AS totalRooms, " +
+           "(SELECT COUNT(*) FROM bed) AS totalBeds, " +
+           "(SELECT COUNT(*) FROM user) AS totalUsers, " +
+           "(SELECT COUNT(DISTINCT o.bed_id) FROM bed_occupancy o WHERE o.stay_date = :date) AS occupiedBeds, " +
+           "(SELECT COUNT(*) FROM bed b WHERE b.is_available_for_booking = true AND b.is_available = true " +
+           " AND NOT EXISTS (SELECT 1 FROM booking bk WHERE bk.bed_id = b.id " +
+           " AND bk.status IN ('PENDING', 'CONFIRMED', 'COMPLETED') AND bk.check_out_date >= :date)) AS availableBeds",
+           nativeQuery = true)
+    CatalogTotals summarizeCatalog(@Param("date") LocalDate date);
+
+    interface GuestHouseTotals {
+        Long getGuestHouseId();
+        String getGuestHouseName();
+        String getCity();
+        Long getTotalRooms();
+        Long getTotalBeds();
+        Long getOccupiedBeds();
+        Long getTotalBookings();
+        Long getPendingBookings();
+        Long getConfirmedBookings();
+        Long getCompletedBookings();
+        Long getCanceledBookings();
+        Long getDeniedBookings();
+        Long getDistinctGuests();
+        BigDecimal getApprovedRevenue();
+    }
+
+    // Per guest house catalog and booking figures in one grouped pass. Bookings are those checking in within
+    // [startDate, endDate]; each booking joins one bed, so the sums are not multiplied. Tonight's occupancy is
+    // pre-grouped to one row per bed for the same reason.
+    @Query(value = "SELECT gh.id AS guestHouseId, gh.name AS guestHouseName, gh.city AS city, " +
+           "COUNT(DISTINCT r.id) AS totalRooms, " +
+           "COUNT(DISTINCT b.id) AS totalBeds, " +
+           "COUNT(DISTINCT o.bed_id) AS occupiedBeds, " +
+           "COUNT(bk.id) AS totalBookings, " +
+           "COALESCE(SUM(CASE WHEN bk.status = 'PENDING' THEN 1 ELSE 0 END), 0) AS pendingBookings, " +
+           "COALESCE(SUM(CASE WHEN bk.status = 'CONFIRMED' THEN 1 ELSE 0 END), 0) AS confirmedBookings, " +
+           "COALESCE(SUM(CASE WHEN bk.status = 'COMPLETED' THEN 1 ELSE 0 END), 0) AS completedBookings, " +
+           "COALESCE(SUM(CASE WHEN bk.status = 'CANCELED' THEN 1 ELSE 0 END), 0) AS canceledBookings, " +
+           "COALESCE(SUM(CASE WHEN bk.status = 'DENIED' THEN 1 ELSE 0 END), 0) AS deniedBookings, " +
+           "COUNT(DISTINCT bk.user_id) AS distinctGuests, " +
+           "COALESCE(SUM(CASE WHEN bk.status IN ('CONFIRMED', 'COMPLETED') THEN bk.total_price ELSE 0 END), 0) AS approvedRevenue " +
+           "FROM guest_house gh " +
+           "LEFT JOIN room r ON r.guest_house_id = gh.id " +
+           "LEFT JOIN bed b ON b.room_id = r.id " +
+           "LEFT JOIN (SELECT bed_id FROM bed_occupancy WHERE stay_date = :today GROUP BY bed_id) o ON o.bed_id = b.id " +
+           "LEFT JOIN booking bk ON bk.bed_id = b.id AND bk.check_in_date >= :startDate AND bk.check_in_date <= :endDate " +
+           "GROUP BY gh.id, gh.name, gh.city ORDER BY gh.name",
+           nativeQuery = true)
+    List<GuestHouseTotals> summarizeByGuestHouse(@Param("today") LocalDate today,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+
+    interface GuestHouseCounts {
+        Long getGuestHouseId();
+        Long getTotalRooms();
+        Long getTotalBeds();
+        Long getAvailableBeds();
+    }
+
+    // Rooms, beds and currently bookable beds for the given guest houses in one pass. A bed is bookable when its
+    // flag is set and no active booking holds it past :today.
+    @Query(value = "SELECT gh.id AS guestHouseId, COUNT(DISTINCT r.id) AS totalRooms, COUNT(b.id) AS totalBeds, " +
+           "COALESCE(SUM(CASE WHEN b.is_available_for_booking = true AND NOT EXISTS (SELECT 1 FROM booking bk " +
+           " WHERE bk.bed_id = b.id AND bk.status IN ('PENDING', 'CONFIRMED', 'COMPLETED') " +
+           " AND bk.check_out_date > :today) THEN 1 ELSE 0 END), 0) AS availableBeds " +
+           "FROM guest_house gh " +
+           "LEFT JOIN room r ON r.guest_house_id = gh.id " +
+           "LEFT JOIN bed b ON b.room_id = r.id " +
+           "WHERE gh.id IN :ids " +
+           "GROUP BY gh.id",
+           nativeQuery = true)
+    List<GuestHouseCounts> countRoomsAndBeds(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today);
 }
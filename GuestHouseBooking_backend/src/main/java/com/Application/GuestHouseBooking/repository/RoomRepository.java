@@ -1,8 +1,11 @@
 package com.Application.GuestHouseBooking.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,4 +26,9 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
 
     @Query("SELECT COUNT(b) FROM Room r JOIN r.beds b WHERE r.id = :roomId AND b.isAvailableForBooking = true")
     Long countAvailableBedsByRoomId(@Param("roomId") Long roomId);
+
+    // Keyset page: the rooms after (createdAt, id) in index order; backed by idx_room_created_at_id
+    @Query("SELECT r FROM Room r JOIN FETCH r.guestHouse WHERE r.createdAt >= :createdAt " +
+           "AND (r.createdAt > :createdAt OR r.id > :id) ORDER BY r.createdAt, r.id")
+    Slice<Room> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
 }
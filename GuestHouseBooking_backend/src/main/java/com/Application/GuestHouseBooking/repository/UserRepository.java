@@ -3,7 +3,11 @@ package com.Application.GuestHouseBooking.repository;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.Application.GuestHouseBooking.entity.User;
@@ -15,4 +19,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByResetTokenAndResetTokenExpiryAfter(String resetToken, LocalDateTime now);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Keyset page: the users after (createdAt, id) in index order; backed by idx_user_created_at_id
+    @Query("SELECT u FROM User u WHERE u.createdAt >= :createdAt " +
+           "AND (u.createdAt > :createdAt OR u.id > :id) ORDER BY u.createdAt, u.id")
+    Slice<User> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
 }
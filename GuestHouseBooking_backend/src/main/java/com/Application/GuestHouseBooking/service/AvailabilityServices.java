@@ -0,0 +1,12 @@
+package com.Application.GuestHouseBooking.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.Application.GuestHouseBooking.dtos.AvailabilitySearchResultDTO;
+
+public interface AvailabilityServices {
+    List<AvailabilitySearchResultDTO> searchAvailability(String city, LocalDate checkIn, LocalDate checkOut, int beds);
+    Map<String, Object> getCacheStats();
+}
@@ -5,14 +5,18 @@ import java.util.List;
 import java.util.Optional;
 
 import com.Application.GuestHouseBooking.dtos.BedDTO;
+import com.Application.GuestHouseBooking.dtos.BedReconciliationDTO;
+import com.Application.GuestHouseBooking.dtos.PageResponseDTO;
 
 public interface BedServices {
     BedDTO createBed(BedDTO bedDTO);
     Optional<BedDTO> getBedById(Long id);
     List<BedDTO> getAllBeds();
+    PageResponseDTO<BedDTO> getBedsPage(String cursor, Integer size);
     List<BedDTO> getBedsByRoomId(Long roomId);
     Optional<BedDTO> updateBed(Long id, BedDTO bedDTO);
     boolean deleteBed(Long id);
     List<BedDTO> getAvailableBeds(Long roomId, LocalDate checkIn, LocalDate checkOut);
-    void updateBedAvailabilityForCompletedBookings();
+    BedReconciliationDTO updateBedAvailabilityForCompletedBookings();
+    BedReconciliationDTO getLastReconciliation();
 }
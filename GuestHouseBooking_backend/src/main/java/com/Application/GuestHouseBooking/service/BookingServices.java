@@ -1,15 +1,26 @@
 package com.Application.GuestHouseBooking.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import com.Application.GuestHouseBooking.dtos.BookingDTO;
+import com.Application.GuestHouseBooking.dtos.BookingHoldDTO;
+import com.Application.GuestHouseBooking.dtos.GroupBookingDTO;
+import com.Application.GuestHouseBooking.dtos.PageResponseDTO;
 import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
 
 public interface BookingServices {
     BookingDTO createBooking(BookingDTO bookingDTO);
+    List<BookingDTO> createGroupBooking(GroupBookingDTO groupBookingDTO);
+    BookingHoldDTO placeHold(BookingHoldDTO bookingHoldDTO, String owner);
+    boolean releaseHold(String holdId, String owner);
     Optional<BookingDTO> getBookingById(Long id);
     List<BookingDTO> getAllBookings();
+    PageResponseDTO<BookingDTO> getBookingsPage(BookingStatus status, String cursor, Integer size);
     List<BookingDTO> getBookingsByUserId(Long userId);
     List<BookingDTO> getBookingsByBedId(Long bedId);
     Optional<BookingDTO> updateBooking(Long id, BookingDTO bookingDTO);
@@ -17,4 +28,6 @@ public interface BookingServices {
     List<BookingDTO> getBookingsByStatus(BookingStatus status);
     List<BookingDTO> getBookingsByStatusAndUserId(BookingStatus status, Long userId);
     List<BookingDTO> getActiveBookings();
+    long exportBookings(String format, LocalDate fromDate, LocalDate toDate, Collection<BookingStatus> statuses,
+                        OutputStream output) throws IOException;
 }
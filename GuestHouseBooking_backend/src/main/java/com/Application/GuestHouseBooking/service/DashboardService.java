@@ -1,10 +1,19 @@
 package com.Application.GuestHouseBooking.service;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 import com.Application.GuestHouseBooking.dtos.DashboardStatsDTO;
+import com.Application.GuestHouseBooking.dtos.GuestHouseStatsDTO;
+import com.Application.GuestHouseBooking.dtos.OccupancyCalendarDTO;
+import com.Application.GuestHouseBooking.dtos.TimeSeriesDTO;
 
 public interface DashboardService {
     DashboardStatsDTO getOverallStatistics();
+    Map<String, Object> getCounterDriftReport();
     DashboardStatsDTO getPeriodReport(LocalDate startDate, LocalDate endDate);
+    List<GuestHouseStatsDTO> getGuestHouseStatistics(LocalDate startDate, LocalDate endDate);
+    TimeSeriesDTO getTimeSeries(String granularity, LocalDate startDate, LocalDate endDate);
+    List<OccupancyCalendarDTO> getOccupancyCalendar(Long guestHouseId, LocalDate startDate, int days);
 } 
\ No newline at end of file
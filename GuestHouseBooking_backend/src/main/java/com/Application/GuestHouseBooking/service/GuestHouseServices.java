@@ -4,11 +4,13 @@ import java.util.List;
 import java.util.Optional;
 
 import com.Application.GuestHouseBooking.dtos.GuestHouseDTO;
+import com.Application.GuestHouseBooking.dtos.PageResponseDTO;
 
 public interface GuestHouseServices {
     GuestHouseDTO createGuestHouse(GuestHouseDTO guestHouseDTO);
     Optional<GuestHouseDTO> getGuestHouseById(Long id);
     List<GuestHouseDTO> getAllGuestHouses();
+    PageResponseDTO<GuestHouseDTO> getGuestHousesPage(String cursor, Integer size);
     Optional<GuestHouseDTO> updateGuestHouse(Long id, GuestHouseDTO guestHouseDTO);
     boolean deleteGuestHouse(Long id);
     List<GuestHouseDTO> getAllGuestHousesWithRooms();
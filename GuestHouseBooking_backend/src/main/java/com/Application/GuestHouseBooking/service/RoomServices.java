@@ -1,5 +1,6 @@
 package com.Application.GuestHouseBooking.service;
 
+import com.Application.GuestHouseBooking.dtos.PageResponseDTO;
 import com.Application.GuestHouseBooking.dtos.RoomDTO;
 import com.Application.GuestHouseBooking.entity.Room;
 
@@ -10,6 +11,7 @@ public interface RoomServices {
     RoomDTO createRoom(RoomDTO roomDTO);
     Optional<RoomDTO> getRoomById(Long id);
     List<RoomDTO> getAllRooms();
+    PageResponseDTO<RoomDTO> getRoomsPage(String cursor, Integer size);
     List<RoomDTO> getRoomsByGuestHouseId(Long guestHouseId);
     Optional<RoomDTO> updateRoom(Long id, RoomDTO roomDTO);
     boolean deleteRoom(Long id);
@@ -1,5 +1,6 @@
 package com.Application.GuestHouseBooking.service;
 
+import com.Application.GuestHouseBooking.dtos.PageResponseDTO;
 import com.Application.GuestHouseBooking.dtos.UserDTO;
 
 import java.util.List;
@@ -9,6 +10,7 @@ public interface UserServices {
     UserDTO createUser(UserDTO userDTO);
     Optional<UserDTO> getUserById(Long id);
     List<UserDTO> getAllUsers();
+    PageResponseDTO<UserDTO> getUsersPage(String cursor, Integer size);
     Optional<UserDTO> updateUser(Long id, UserDTO userDTO);
     boolean deleteUser(Long id);
 }
@@ -0,0 +1,168 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Application.GuestHouseBooking.events.BookingChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Availability answers keyed by (scope, checkIn, checkOut), where the scope is a room or a city.
+ * A booking change evicts only the entries whose scope contains the booking and whose dates overlap it;
+ * bed edits clear everything because they can change which beds are bookable at all.
+ */
+@Component
+public class AvailabilityCache {
+
+    private static final String ROOM = "room:";
+    private static final String CITY = "city:";
+    private static final String ALL_CITIES = CITY + "*";
+
+    @Value("${app.availability.cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${app.availability.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<Key, Object> cache;
+
+    // Bumped before every eviction so an answer computed before a change is never stored after it
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong evictedByBookings = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public <T> T forRoom(Long roomId, LocalDate checkIn, LocalDate checkOut, Supplier<T> loader) {
+        return get(new Key(ROOM + roomId, checkIn, checkOut), loader);
+    }
+
+    public <T> T forCity(String city, LocalDate checkIn, LocalDate checkOut, Supplier<T> loader) {
+        String scope = city == null ? ALL_CITIES : CITY + city.trim().toLowerCase();
+        return get(new Key(scope, checkIn, checkOut), loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(Key key, Supplier<T> loader) {
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        long generationAtRead = generation.get();
+        T loaded = loader.get();
+        if (loaded != null && generation.get() == generationAtRead) {
+            cache.put(key, loaded);
+            // A change may have landed between the check and the put
+            if (generation.get() != generationAtRead) {
+                cache.invalidate(key);
+            }
+        }
+        return loaded;
+    }
+
+    // Inside a transaction the clear waits for the commit, so a reader can't cache the old catalog in between
+    public void invalidateAll() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clear();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                clear();
+            }
+        });
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent change) {
+        generation.incrementAndGet();
+        evict(change.getBefore());
+        evict(change.getAfter());
+    }
+
+    private void evict(BookingChangedEvent.Snapshot stay) {
+        if (stay == null) {
+            return;
+        }
+        String roomScope = ROOM + stay.getRoomId();
+        String cityScope = stay.getCity() == null ? null : CITY + stay.getCity().trim().toLowerCase();
+        cache.asMap().keySet().removeIf(key -> {
+            boolean inScope = key.scope.equals(roomScope) || key.scope.equals(ALL_CITIES) || key.scope.equals(cityScope);
+            boolean overlaps = key.checkIn.isBefore(stay.getCheckOutDate()) && key.checkOut.isAfter(stay.getCheckInDate());
+            if (inScope && overlaps) {
+                evictedByBookings.incrementAndGet();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("missRate", stats.missRate());
+        result.put("evictionCount", stats.evictionCount()); // Size and TTL evictions
+        result.put("evictedByBookings", evictedByBookings.get());
+        return result;
+    }
+
+    private static final class Key {
+        private final String scope;
+        private final LocalDate checkIn;
+        private final LocalDate checkOut;
+
+        private Key(String scope, LocalDate checkIn, LocalDate checkOut) {
+            this.scope = scope;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return scope.equals(key.scope) && checkIn.equals(key.checkIn) && checkOut.equals(key.checkOut);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, checkIn, checkOut);
+        }
+    }
+}
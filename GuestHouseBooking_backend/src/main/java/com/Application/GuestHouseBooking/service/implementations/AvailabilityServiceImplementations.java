@@ -0,0 +1,128 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.Application.GuestHouseBooking.dtos.AvailabilitySearchResultDTO;
+import com.Application.GuestHouseBooking.repository.BedRepository;
+import com.Application.GuestHouseBooking.repository.BookingRepository;
+import com.Application.GuestHouseBooking.service.AvailabilityServices;
+
+@Service
+public class AvailabilityServiceImplementations implements AvailabilityServices {
+
+    @Autowired
+    private BedRepository bedRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OccupancyBitmapIndex occupancyBitmapIndex;
+
+    @Autowired
+    private BedAvailabilityIndex bedAvailabilityIndex;
+
+    @Autowired
+    private AvailabilityCache availabilityCache;
+
+    @Autowired
+    private BookingHoldStore bookingHoldStore;
+
+    @Override
+    public Map<String, Object> getCacheStats() {
+        return availabilityCache.stats();
+    }
+
+    @Override
+    public List<AvailabilitySearchResultDTO> searchAvailability(String city, LocalDate checkIn, LocalDate checkOut, int beds) {
+        if (!checkOut.isAfter(checkIn)) {
+            throw new RuntimeException("Check-out date must be after check-in date.");
+        }
+        if (beds < 1) {
+            throw new RuntimeException("At least one bed must be requested.");
+        }
+
+        String cityFilter = (city == null || city.isBlank()) ? null : city.trim();
+        List<AvailabilitySearchResultDTO> freeByGuestHouse = availabilityCache.forCity(
+                cityFilter, checkIn, checkOut, () -> findFreeBedsByGuestHouse(cityFilter, checkIn, checkOut));
+
+        // Holds change by the minute, so they are applied after the cache rather than cached with the answer
+        Set<Long> heldBedIds = bookingHoldStore.heldBedIds(checkIn, checkOut);
+        if (!heldBedIds.isEmpty()) {
+            freeByGuestHouse = freeByGuestHouse.stream()
+                    .map(result -> withoutHeldBeds(result, heldBedIds))
+                    .collect(Collectors.toList());
+        }
+
+        return freeByGuestHouse.stream()
+                .filter(result -> result.getFreeBeds() >= beds)
+                .collect(Collectors.toList());
+    }
+
+    // Copy of a cached result minus the held beds; the cached result itself is left untouched
+    private AvailabilitySearchResultDTO withoutHeldBeds(AvailabilitySearchResultDTO result, Set<Long> heldBedIds) {
+        AvailabilitySearchResultDTO copy = new AvailabilitySearchResultDTO();
+        copy.setGuestHouseId(result.getGuestHouseId());
+        copy.setGuestHouseName(result.getGuestHouseName());
+        copy.setCity(result.getCity());
+        copy.setBeds(result.getBeds().stream()
+                .filter(bed -> !heldBedIds.contains(bed.getBedId()))
+                .collect(Collectors.toList()));
+        copy.setFreeBeds(copy.getBeds().size());
+        return copy;
+    }
+
+    // Every guest house in the city with at least one free bed for the dates
+    private List<AvailabilitySearchResultDTO> findFreeBedsByGuestHouse(String cityFilter, LocalDate checkIn, LocalDate checkOut) {
+        List<BedRepository.BedLocation> candidates = bedRepository.findBookableBedLocations(cityFilter, null);
+        Predicate<Long> isFree = freeBedCheck(cityFilter, checkIn, checkOut);
+
+        // Candidates arrive ordered by guest house, room and bed number
+        Map<Long, AvailabilitySearchResultDTO> resultsByGuestHouse = new LinkedHashMap<>();
+        for (BedRepository.BedLocation bed : candidates) {
+            if (!isFree.test(bed.getBedId())) {
+                continue;
+            }
+            AvailabilitySearchResultDTO result = resultsByGuestHouse.computeIfAbsent(bed.getGuestHouseId(), id -> {
+                AvailabilitySearchResultDTO dto = new AvailabilitySearchResultDTO();
+                dto.setGuestHouseId(id);
+                dto.setGuestHouseName(bed.getGuestHouseName());
+                dto.setCity(bed.getCity());
+                return dto;
+            });
+            AvailabilitySearchResultDTO.FreeBed freeBed = new AvailabilitySearchResultDTO.FreeBed();
+            freeBed.setBedId(bed.getBedId());
+            freeBed.setBedNumber(bed.getBedNumber());
+            freeBed.setRoomId(bed.getRoomId());
+            freeBed.setRoomNumber(bed.getRoomNumber());
+            freeBed.setPricePerNight(bed.getPricePerNight());
+            result.getBeds().add(freeBed);
+        }
+
+        resultsByGuestHouse.values().forEach(result -> result.setFreeBeds(result.getBeds().size()));
+        return new ArrayList<>(resultsByGuestHouse.values());
+    }
+
+    // Bitmaps cover the rolling horizon; dates outside it go to the interval index, then to one database query
+    private Predicate<Long> freeBedCheck(String city, LocalDate checkIn, LocalDate checkOut) {
+        if (occupancyBitmapIndex.covers(checkIn, checkOut)) {
+            return bedId -> occupancyBitmapIndex.isFree(bedId, checkIn, checkOut);
+        }
+        if (bedAvailabilityIndex.isReady()) {
+            return bedId -> bedAvailabilityIndex.isFree(bedId, checkIn, checkOut);
+        }
+        Set<Long> freeBedIds = new HashSet<>(bookingRepository.findFreeBedIdsInCity(city, checkIn, checkOut));
+        return freeBedIds::contains;
+    }
+}
@@ -0,0 +1,195 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
+import com.Application.GuestHouseBooking.events.BookingChangedEvent;
+import com.Application.GuestHouseBooking.repository.BookingRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * In-memory index of the date ranges held by active bookings, one interval tree per bed.
+ * Ranges are half-open [checkIn, checkOut), the same overlap rule createBooking enforces.
+ * Until the index has been loaded, {@link #isReady()} is false and callers should query the database.
+ */
+@Component
+public class BedAvailabilityIndex {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final Object lock = new Object();
+
+    private volatile Map<Long, BedTimeline> timelines = new ConcurrentHashMap<>();
+    private volatile Map<Long, Stay> stays = new ConcurrentHashMap<>(); // bookingId -> indexed stay
+
+    // Changes that arrive while the index is being (re)loaded are replayed on top of the loaded snapshot
+    private List<BookingChangedEvent> pendingChanges;
+
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        synchronized (lock) {
+            pendingChanges = new ArrayList<>();
+        }
+
+        List<BookingRepository.BookingInterval> intervals;
+        try {
+            intervals = bookingRepository.findIntervalsByStatusIn(BookingStatus.activeStatuses());
+        } catch (Exception e) {
+            synchronized (lock) {
+                pendingChanges = null;
+            }
+            System.err.println("Failed to load bed availability index: " + e.getMessage());
+            return;
+        }
+
+        synchronized (lock) {
+            Map<Long, BedTimeline> loadedTimelines = new ConcurrentHashMap<>();
+            Map<Long, Stay> loadedStays = new ConcurrentHashMap<>();
+            for (BookingRepository.BookingInterval interval : intervals) {
+                Stay stay = new Stay(interval.getBedId(), interval.getCheckInDate(), interval.getCheckOutDate());
+                loadedStays.put(interval.getId(), stay);
+                loadedTimelines.computeIfAbsent(stay.bedId, id -> new BedTimeline()).add(interval.getId(), stay);
+            }
+            for (BookingChangedEvent change : pendingChanges) {
+                apply(loadedTimelines, loadedStays, change);
+            }
+            pendingChanges = null;
+            timelines = loadedTimelines;
+            stays = loadedStays;
+            ready = true;
+        }
+        System.out.println("Bed availability index loaded with " + intervals.size() + " active bookings");
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // True when no active booking on the bed overlaps [checkIn, checkOut)
+    public boolean isFree(Long bedId, LocalDate checkIn, LocalDate checkOut) {
+        BedTimeline timeline = timelines.get(bedId);
+        return timeline == null || !timeline.overlaps(checkIn, checkOut);
+    }
+
+    // Date ranges held on the bed, in check-in order
+    public List<BookedRange> bookedRanges(Long bedId) {
+        BedTimeline timeline = timelines.get(bedId);
+        return timeline == null ? new ArrayList<>() : timeline.ranges();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent change) {
+        synchronized (lock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            apply(timelines, stays, change);
+        }
+    }
+
+    private static void apply(Map<Long, BedTimeline> timelines, Map<Long, Stay> stays, BookingChangedEvent change) {
+        BookingChangedEvent.Snapshot after = change.getAfter();
+        Stay previous;
+        if (after != null && after.isActive()) {
+            Stay stay = new Stay(after.getBedId(), after.getCheckInDate(), after.getCheckOutDate());
+            previous = stays.put(change.getBookingId(), stay);
+            if (previous != null) {
+                timelines.get(previous.bedId).remove(change.getBookingId(), previous);
+            }
+            timelines.computeIfAbsent(stay.bedId, id -> new BedTimeline()).add(change.getBookingId(), stay);
+        } else {
+            previous = stays.remove(change.getBookingId());
+            if (previous != null) {
+                timelines.get(previous.bedId).remove(change.getBookingId(), previous);
+            }
+        }
+    }
+
+    // A booked [checkIn, checkOut) range on a bed
+    @Getter
+    @AllArgsConstructor
+    public static class BookedRange {
+        private final LocalDate checkIn;
+        private final LocalDate checkOut;
+    }
+
+    private static final class Stay {
+        private final Long bedId;
+        private final LocalDate checkIn;
+        private final LocalDate checkOut;
+
+        private Stay(Long bedId, LocalDate checkIn, LocalDate checkOut) {
+            this.bedId = bedId;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+        }
+    }
+
+    /**
+     * Interval tree for a single bed: a red-black tree keyed by check-in date, augmented with the
+     * longest stay seen so an overlap query only has to visit check-ins in (checkIn - longestStay, checkOut).
+     */
+    private static final class BedTimeline {
+        private final TreeMap<LocalDate, Map<Long, LocalDate>> checkOutsByCheckIn = new TreeMap<>();
+        private long longestStay = 0;
+
+        synchronized void add(Long bookingId, Stay stay) {
+            checkOutsByCheckIn.computeIfAbsent(stay.checkIn, day -> new HashMap<>()).put(bookingId, stay.checkOut);
+            longestStay = Math.max(longestStay, ChronoUnit.DAYS.between(stay.checkIn, stay.checkOut));
+        }
+
+        synchronized void remove(Long bookingId, Stay stay) {
+            Map<Long, LocalDate> sameDay = checkOutsByCheckIn.get(stay.checkIn);
+            if (sameDay != null) {
+                sameDay.remove(bookingId);
+                if (sameDay.isEmpty()) {
+                    checkOutsByCheckIn.remove(stay.checkIn);
+                }
+            }
+        }
+
+        synchronized List<BookedRange> ranges() {
+            List<BookedRange> ranges = new ArrayList<>();
+            checkOutsByCheckIn.forEach((checkIn, sameDay) -> {
+                for (LocalDate checkOut : sameDay.values()) {
+                    ranges.add(new BookedRange(checkIn, checkOut));
+                }
+            });
+            return ranges;
+        }
+
+        synchronized boolean overlaps(LocalDate checkIn, LocalDate checkOut) {
+            LocalDate earliestCandidate = checkIn.minusDays(longestStay);
+            for (Map<Long, LocalDate> sameDay : checkOutsByCheckIn.subMap(earliestCandidate, false, checkOut, false).values()) {
+                for (LocalDate bookedCheckOut : sameDay.values()) {
+                    if (bookedCheckOut.isAfter(checkIn)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
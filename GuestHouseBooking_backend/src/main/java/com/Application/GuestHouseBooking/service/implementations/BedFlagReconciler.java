@@ -0,0 +1,86 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.Application.GuestHouseBooking.dtos.BedReconciliationDTO;
+import com.Application.GuestHouseBooking.repository.BedRepository;
+
+/**
+ * Releases bed flags left set by completed stays. Each run only looks at beds whose bookings checked out or were
+ * updated since the previous run started (the watermark), and releases all matching beds in one UPDATE.
+ * The watermark lives in memory, so the first run after a restart looks at every completed booking. A nightly
+ * sweep ignores the watermark, for beds held by a future booking that later lapsed without being updated.
+ */
+@Component
+public class BedFlagReconciler {
+
+    private static final LocalDate BEGINNING = LocalDate.of(1970, 1, 1);
+
+    @Autowired
+    private BedRepository bedRepository;
+
+    @Autowired
+    private AvailabilityCache availabilityCache;
+
+    private LocalDateTime watermark;
+
+    private volatile BedReconciliationDTO lastRun;
+
+    @Scheduled(cron = "0 0 * * * *")
+    public void reconcileScheduled() {
+        try {
+            reconcile("scheduled");
+        } catch (Exception e) {
+            System.err.println("Scheduled bed flag reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void sweepScheduled() {
+        try {
+            reconcile("sweep", true);
+        } catch (Exception e) {
+            System.err.println("Bed flag sweep failed: " + e.getMessage());
+        }
+    }
+
+    public BedReconciliationDTO reconcile(String trigger) {
+        return reconcile(trigger, false);
+    }
+
+    // Runs are serialized so the watermark only moves forward once a run has finished
+    public synchronized BedReconciliationDTO reconcile(String trigger, boolean fullSweep) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+
+        LocalDateTime windowStart = fullSweep ? null : watermark;
+        LocalDate fromDate = windowStart == null ? BEGINNING : windowStart.toLocalDate();
+        LocalDateTime fromTime = windowStart == null ? BEGINNING.atStartOfDay() : windowStart;
+        int rowsChanged = bedRepository.releaseBedsAfterCompletedStays(startedAt.toLocalDate(), fromDate, fromTime);
+        if (rowsChanged > 0) {
+            availabilityCache.invalidateAll();
+        }
+
+        BedReconciliationDTO run = new BedReconciliationDTO();
+        run.setTrigger(trigger);
+        run.setStartedAt(startedAt);
+        run.setWindowStart(windowStart);
+        run.setDurationMillis((System.nanoTime() - start) / 1_000_000);
+        run.setRowsChanged(rowsChanged);
+
+        watermark = startedAt;
+        lastRun = run;
+        System.out.println("Bed flag reconciliation (" + trigger + "): released " + rowsChanged
+                + " beds in " + run.getDurationMillis() + " ms");
+        return run;
+    }
+
+    public BedReconciliationDTO getLastRun() {
+        return lastRun;
+    }
+}
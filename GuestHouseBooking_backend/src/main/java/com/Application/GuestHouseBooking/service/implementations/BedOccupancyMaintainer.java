@@ -0,0 +1,112 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Application.GuestHouseBooking.entity.BedOccupancy;
+import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
+import com.Application.GuestHouseBooking.events.BookingChangedEvent;
+import com.Application.GuestHouseBooking.repository.BedOccupancyRepository;
+import com.Application.GuestHouseBooking.repository.BookingRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Keeps bed_occupancy in step with bookings: one row per bed per night, from today onwards, for every
+ * active booking. Rows for a booking are rewritten whenever that booking changes, and past nights are
+ * pruned daily, so "which beds are occupied today" is an index lookup instead of a flag on the bed.
+ */
+@Component
+public class BedOccupancyMaintainer {
+
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private BedOccupancyRepository bedOccupancyRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Serializes the startup backfill with event updates so neither overwrites the other
+    private final Object lock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        synchronized (lock) {
+            try {
+                if (bedOccupancyRepository.count() > 0) {
+                    return;
+                }
+                LocalDate today = LocalDate.now();
+                List<BookingRepository.BookingInterval> intervals =
+                        bookingRepository.findIntervalsByStatusIn(BookingStatus.activeStatuses());
+                Integer written = transactionTemplate.execute(status -> {
+                    int rows = 0;
+                    int unflushed = 0;
+                    for (BookingRepository.BookingInterval interval : intervals) {
+                        int added = writeNights(interval.getId(), interval.getBedId(),
+                                interval.getCheckInDate(), interval.getCheckOutDate(), today);
+                        rows += added;
+                        unflushed += added;
+                        if (unflushed >= FLUSH_EVERY) {
+                            entityManager.flush();
+                            entityManager.clear();
+                            unflushed = 0;
+                        }
+                    }
+                    return rows;
+                });
+                System.out.println("Bed occupancy backfilled with " + written + " nights from " + intervals.size() + " active bookings");
+            } catch (Exception e) {
+                System.err.println("Failed to backfill bed occupancy: " + e.getMessage());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBookingChanged(BookingChangedEvent change) {
+        synchronized (lock) {
+            bedOccupancyRepository.deleteByBookingId(change.getBookingId());
+            BookingChangedEvent.Snapshot after = change.getAfter();
+            if (after != null && after.isActive()) {
+                writeNights(change.getBookingId(), after.getBedId(),
+                        after.getCheckInDate(), after.getCheckOutDate(), LocalDate.now());
+            }
+        }
+    }
+
+    @Scheduled(cron = "0 15 0 * * *")
+    public void prunePastNights() {
+        LocalDate today = LocalDate.now();
+        Integer removed = transactionTemplate.execute(status -> bedOccupancyRepository.deleteNightsBefore(today));
+        System.out.println("Pruned " + removed + " past bed occupancy rows");
+    }
+
+    // Writes the nights of [checkIn, checkOut) that fall on or after today
+    private int writeNights(Long bookingId, Long bedId, LocalDate checkIn, LocalDate checkOut, LocalDate today) {
+        int rows = 0;
+        for (LocalDate night = checkIn.isBefore(today) ? today : checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+            entityManager.persist(new BedOccupancy(new BedOccupancy.Key(bookingId, night), bedId));
+            rows++;
+        }
+        return rows;
+    }
+}
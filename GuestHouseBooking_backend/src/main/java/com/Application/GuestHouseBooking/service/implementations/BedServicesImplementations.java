@@ -1,17 +1,23 @@
 package com.Application.GuestHouseBooking.service.implementations;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.Application.GuestHouseBooking.dtos.BedDTO;
+import com.Application.GuestHouseBooking.dtos.BedReconciliationDTO;
+import com.Application.GuestHouseBooking.dtos.PageResponseDTO;
 import com.Application.GuestHouseBooking.entity.Bed;
 import com.Application.GuestHouseBooking.entity.Room;
-import com.Application.GuestHouseBooking.entity.Booking;
+import com.Application.GuestHouseBooking.repository.BedOccupancyRepository;
 import com.Application.GuestHouseBooking.repository.BedRepository;
 import com.Application.GuestHouseBooking.repository.BookingRepository;
 import com.Application.GuestHouseBooking.repository.RoomRepository;
@@ -30,6 +36,27 @@ public class BedServicesImplementations implements BedServices {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private BedOccupancyRepository bedOccupancyRepository;
+
+    @Autowired
+    private BedAvailabilityIndex bedAvailabilityIndex;
+
+    @Autowired
+    private AvailabilityCache availabilityCache;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private BookingHoldStore bookingHoldStore;
+
+    @Autowired
+    private BedFlagReconciler bedFlagReconciler;
+
+    @Autowired
+    private KeysetPaging keysetPaging;
+
     @Autowired
     private AuditLogServices auditLogService; // <<< Inject AuditLogService
 
@@ -97,6 +124,8 @@ public class BedServicesImplementations implements BedServices {
             System.out.println("Bed LastModifiedBy: " + bed.getLastModifiedBy());
             
             Bed savedBed = bedRepository.save(bed);
+            availabilityCache.invalidateAll();
+            catalogCache.evictBed(null, savedBed.getRoom().getId());
             System.out.println("Successfully saved bed with ID: " + savedBed.getId());
             System.out.println("=====================================");
 
@@ -128,18 +157,43 @@ public class BedServicesImplementations implements BedServices {
 
     public Optional<BedDTO> getBedById(Long id) {
         return bedRepository.findById(id)
-                .map(this::convertToDTO);
+                .map(this::convertToDTO)
+                .map(dto -> {
+                    dto.setOccupiedToday(bedOccupancyRepository.existsByBedIdAndIdStayDate(id, LocalDate.now()));
+                    return dto;
+                });
     }
 
     public List<BedDTO> getAllBeds() {
+        Set<Long> occupiedBedIds = new HashSet<>(bedOccupancyRepository.findOccupiedBedIds(LocalDate.now()));
         return bedRepository.findAll().stream()
                 .map(this::convertToDTO)
+                .peek(dto -> dto.setOccupiedToday(occupiedBedIds.contains(dto.getId())))
                 .collect(Collectors.toList());
     }
 
+    public PageResponseDTO<BedDTO> getBedsPage(String cursor, Integer size) {
+        KeysetPaging.Position after = keysetPaging.decode(cursor);
+        return keysetPaging.toPage(
+                bedRepository.findPageAfter(after.getCreatedAt(), after.getId(), keysetPaging.pageable(size)),
+                Bed::getCreatedAt, Bed::getId, beds -> {
+                    if (beds.isEmpty()) {
+                        return new ArrayList<>();
+                    }
+                    Set<Long> occupiedBedIds = new HashSet<>(bedOccupancyRepository.findOccupiedBedIdsAmong(
+                            beds.stream().map(Bed::getId).collect(Collectors.toList()), LocalDate.now()));
+                    return beds.stream()
+                            .map(this::convertToDTO)
+                            .peek(dto -> dto.setOccupiedToday(occupiedBedIds.contains(dto.getId())))
+                            .collect(Collectors.toList());
+                });
+    }
+
     public List<BedDTO> getBedsByRoomId(Long roomId) {
+        Set<Long> occupiedBedIds = new HashSet<>(bedOccupancyRepository.findOccupiedBedIdsInRoom(roomId, LocalDate.now()));
         return bedRepository.findByRoomId(roomId).stream()
                 .map(this::convertToDTO)
+                .peek(dto -> dto.setOccupiedToday(occupiedBedIds.contains(dto.getId())))
                 .collect(Collectors.toList());
     }
 
@@ -155,11 +209,14 @@ public class BedServicesImplementations implements BedServices {
                 System.err.println("Failed to convert old Bed to JSON: " + e.getMessage());
             }
 
+            Long previousRoomId = existingBed.getRoom().getId();
             Room room = roomRepository.findById(bedDTO.getRoomId())
                     .orElseThrow(() -> new RuntimeException("Room not found with ID: " + bedDTO.getRoomId()));
             existingBed.setRoom(room); // Update Room association if changed
 
             Bed updatedBed = bedRepository.save(existingBed); // After save, lastModifiedBy is set
+            availabilityCache.invalidateAll();
+            catalogCache.evictBed(id, previousRoomId, room.getId());
 
             // --- Audit Log: UPDATE ---
             try {
@@ -195,6 +252,8 @@ public class BedServicesImplementations implements BedServices {
             }
 
             bedRepository.deleteById(id);
+            availabilityCache.invalidateAll();
+            catalogCache.evictBed(id, bedToDelete.getRoom().getId());
 
             // --- Audit Log: DELETE ---
             auditLogService.logAudit(
@@ -214,53 +273,40 @@ public class BedServicesImplementations implements BedServices {
 
     @Override
     public List<BedDTO> getAvailableBeds(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        List<BedDTO> freeBeds = availabilityCache.forRoom(roomId, checkIn, checkOut, () -> findAvailableBeds(roomId, checkIn, checkOut));
+        Set<Long> heldBedIds = bookingHoldStore.heldBedIds(checkIn, checkOut);
+        if (heldBedIds.isEmpty()) {
+            return freeBeds;
+        }
+        return freeBeds.stream()
+            .filter(bed -> !heldBedIds.contains(bed.getId()))
+            .collect(Collectors.toList());
+    }
+
+    private List<BedDTO> findAvailableBeds(Long roomId, LocalDate checkIn, LocalDate checkOut) {
         List<Bed> allBedsInRoom = bedRepository.findByRoomId(roomId);
+        // Answer from the in-memory index; while it is still loading, ask the database once for the whole room
+        Predicate<Long> isFree;
+        if (bedAvailabilityIndex.isReady()) {
+            isFree = bedId -> bedAvailabilityIndex.isFree(bedId, checkIn, checkOut);
+        } else {
+            Set<Long> freeBedIds = new HashSet<>(bookingRepository.findFreeBedIdsInRoom(roomId, checkIn, checkOut));
+            isFree = freeBedIds::contains;
+        }
         
         return allBedsInRoom.stream()
             .filter(bed -> bed.getIsAvailable()) // First check if bed is generally available
-            .filter(bed -> !bookingRepository.existsByBedIdAndDateRange(bed.getId(), checkIn, checkOut))
+            .filter(bed -> isFree.test(bed.getId()))
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
     
-    // Method to update bed availability for completed bookings
-    public void updateBedAvailabilityForCompletedBookings() {
-        System.out.println("=== Updating Bed Availability for Completed Bookings ===");
-        
-        // Find all beds
-        List<Bed> allBeds = bedRepository.findAll();
-        int updatedCount = 0;
-        
-        for (Bed bed : allBeds) {
-            // Check if bed has any completed bookings with past checkout dates
-            List<Booking> completedBookings = bookingRepository.findByBedId(bed.getId()).stream()
-                .filter(booking -> 
-                    booking.getStatus() == Booking.BookingStatus.COMPLETED &&
-                    booking.getCheckOutDate().isBefore(java.time.LocalDate.now())
-                )
-                .collect(Collectors.toList());
-            
-            if (!completedBookings.isEmpty()) {
-                // Check if bed has any active bookings (future dates)
-                boolean hasActiveBookings = bookingRepository.findByBedId(bed.getId()).stream()
-                    .anyMatch(booking -> 
-                        (booking.getStatus() == Booking.BookingStatus.PENDING ||
-                         booking.getStatus() == Booking.BookingStatus.CONFIRMED ||
-                         booking.getStatus() == Booking.BookingStatus.COMPLETED) &&
-                        booking.getCheckOutDate().isAfter(java.time.LocalDate.now())
-                    );
-                
-                if (!hasActiveBookings) {
-                    bed.markAsAvailable();
-                    bedRepository.save(bed);
-                    System.out.println("Bed ID " + bed.getId() + " marked as available (completed bookings)");
-                    updatedCount++;
-                }
-            }
-        }
-        
-        System.out.println("Updated " + updatedCount + " beds");
-        System.out.println("=====================================================");
+    // Runs the bed-flag reconciliation job on demand
+    public BedReconciliationDTO updateBedAvailabilityForCompletedBookings() {
+        return bedFlagReconciler.reconcile("manual");
     }
-}
 
+    public BedReconciliationDTO getLastReconciliation() {
+        return bedFlagReconciler.getLastRun();
+    }
+}
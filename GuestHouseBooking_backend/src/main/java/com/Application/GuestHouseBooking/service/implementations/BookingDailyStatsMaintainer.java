@@ -0,0 +1,237 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Application.GuestHouseBooking.entity.BookingDailyStats;
+import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
+import com.Application.GuestHouseBooking.events.BookingChangedEvent;
+import com.Application.GuestHouseBooking.repository.BookingDailyStatsRepository;
+import com.Application.GuestHouseBooking.repository.BookingRepository;
+import com.Application.GuestHouseBooking.repository.GuestHouseRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Keeps booking_daily_stats in step with bookings. When a booking changes, only the days it touched (before
+ * and after the change) are recomputed for its guest house, from the bookings of that guest house; the whole
+ * table is rebuilt nightly to absorb anything the events missed, such as beds moved between guest houses.
+ * Days are recomputed rather than adjusted by deltas because distinct guests per day cannot be decremented.
+ */
+@Component
+public class BookingDailyStatsMaintainer {
+
+    private static final int FLUSH_EVERY = 500;
+    private static final LocalDate BEGINNING = LocalDate.of(1000, 1, 1);
+
+    @Autowired
+    private BookingDailyStatsRepository bookingDailyStatsRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private GuestHouseRepository guestHouseRepository;
+
+    @Autowired
+    private TimeSeriesCache timeSeriesCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Booking events arrive after their transaction has committed; joining that finished transaction would leave
+    // the deleteRange without a live transaction and the persisted rows unflushed, so every recompute gets its own
+    private TransactionTemplate recomputeTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // One lock per guest house, held until the recompute commits, so overlapping recomputes cannot interleave
+    private final Map<Long, Object> guestHouseLocks = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() {
+        recomputeTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        recomputeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Reports fall back to scanning bookings until the rollup has been built once
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (bookingDailyStatsRepository.count() > 0) {
+                ready = true;
+                return;
+            }
+            rebuildAll();
+        } catch (Exception e) {
+            System.err.println("Failed to backfill booking daily stats: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "0 30 2 * * *")
+    public void nightlyRebuild() {
+        try {
+            rebuildAll();
+        } catch (Exception e) {
+            System.err.println("Nightly booking daily stats rebuild failed: " + e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent change) {
+        BookingChangedEvent.Snapshot before = change.getBefore();
+        BookingChangedEvent.Snapshot after = change.getAfter();
+        try {
+            if (before != null && after != null && before.getGuestHouseId() != null
+                    && before.getGuestHouseId().equals(after.getGuestHouseId())) {
+                // Same guest house: one range covering both versions of the stay
+                LocalDate from = earlier(before.getCheckInDate(), after.getCheckInDate());
+                LocalDate to = later(before.getCheckOutDate(), after.getCheckOutDate());
+                recompute(after.getGuestHouseId(), from, to);
+                return;
+            }
+            if (before != null && before.getGuestHouseId() != null) {
+                recompute(before.getGuestHouseId(), before.getCheckInDate(), before.getCheckOutDate());
+            }
+            if (after != null && after.getGuestHouseId() != null) {
+                recompute(after.getGuestHouseId(), after.getCheckInDate(), after.getCheckOutDate());
+            }
+        } catch (Exception e) {
+            // The nightly rebuild repairs whatever this missed
+            System.err.println("Failed to update booking daily stats for booking " + change.getBookingId() + ": " + e.getMessage());
+        }
+    }
+
+    public void rebuildAll() {
+        long started = System.currentTimeMillis();
+        List<Long> guestHouseIds = guestHouseRepository.findAllIds();
+        int rows = 0;
+        for (Long guestHouseId : guestHouseIds) {
+            rows += recompute(guestHouseId, BEGINNING, BookingRepository.OPEN_ENDED);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (guestHouseIds.isEmpty()) {
+                bookingDailyStatsRepository.deleteAllInBatch();
+            } else {
+                bookingDailyStatsRepository.deleteGuestHousesOtherThan(guestHouseIds);
+            }
+        });
+        timeSeriesCache.clear();
+        ready = true;
+        System.out.println("Booking daily stats rebuilt: " + rows + " rows for " + guestHouseIds.size()
+                + " guest houses in " + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    // Rewrites the rows of one guest house for [from, to] and returns how many were written
+    private int recompute(Long guestHouseId, LocalDate from, LocalDate to) {
+        synchronized (guestHouseLocks.computeIfAbsent(guestHouseId, id -> new Object())) {
+            Integer written = recomputeTransaction.execute(status -> {
+                // Delete first so the booking read below sees everything committed before these rows were locked
+                bookingDailyStatsRepository.deleteRange(guestHouseId, from, to);
+                List<BookingRepository.DailyStatsSource> bookings =
+                        bookingRepository.findDailyStatsSources(guestHouseId, from, to);
+                Map<LocalDate, BookingDailyStats> days = aggregate(guestHouseId, bookings, from, to);
+                int unflushed = 0;
+                for (BookingDailyStats day : days.values()) {
+                    entityManager.persist(day);
+                    if (++unflushed >= FLUSH_EVERY) {
+                        entityManager.flush();
+                        entityManager.clear();
+                        unflushed = 0;
+                    }
+                }
+                return days.size();
+            });
+            // Only once the new rows are committed, so a reader cannot cache the old ones again
+            timeSeriesCache.evict(from, to);
+            return written == null ? 0 : written;
+        }
+    }
+
+    // Folds bookings into per-day rows, keeping only the days inside [from, to]
+    private Map<LocalDate, BookingDailyStats> aggregate(Long guestHouseId, List<BookingRepository.DailyStatsSource> bookings,
+                                                        LocalDate from, LocalDate to) {
+        Map<LocalDate, BookingDailyStats> days = new TreeMap<>();
+        Map<LocalDate, Set<Long>> guestsByDay = new HashMap<>();
+        for (BookingRepository.DailyStatsSource booking : bookings) {
+            LocalDate checkIn = booking.getCheckInDate();
+            LocalDate checkOut = booking.getCheckOutDate();
+            boolean completed = booking.getStatus() == BookingStatus.COMPLETED;
+
+            if (!checkIn.isBefore(from) && !checkIn.isAfter(to)) {
+                BookingDailyStats day = day(days, guestHouseId, checkIn);
+                day.setCheckIns(day.getCheckIns() + 1);
+                if (completed) {
+                    day.setCompletedCheckIns(day.getCompletedCheckIns() + 1);
+                    if (booking.getUserId() != null) {
+                        guestsByDay.computeIfAbsent(checkIn, d -> new HashSet<>()).add(booking.getUserId());
+                    }
+                }
+            }
+
+            if (!checkOut.isBefore(from) && !checkOut.isAfter(to) && booking.getTotalPrice() != null) {
+                addRevenue(day(days, guestHouseId, checkOut), booking.getStatus(), booking.getTotalPrice());
+            }
+
+            if (booking.getStatus().isActive()) {
+                LocalDate end = checkOut.isAfter(to) ? to.plusDays(1) : checkOut;
+                for (LocalDate night = checkIn.isBefore(from) ? from : checkIn; night.isBefore(end); night = night.plusDays(1)) {
+                    BookingDailyStats day = day(days, guestHouseId, night);
+                    day.setOccupiedNights(day.getOccupiedNights() + 1);
+                    if (completed) {
+                        day.setCompletedNights(day.getCompletedNights() + 1);
+                    }
+                }
+            }
+        }
+        guestsByDay.forEach((date, guests) -> days.get(date).setCompletedGuests((long) guests.size()));
+        return days;
+    }
+
+    private BookingDailyStats day(Map<LocalDate, BookingDailyStats> days, Long guestHouseId, LocalDate date) {
+        return days.computeIfAbsent(date, d -> new BookingDailyStats(new BookingDailyStats.Key(d, guestHouseId)));
+    }
+
+    private void addRevenue(BookingDailyStats day, BookingStatus status, BigDecimal amount) {
+        switch (status) {
+            case PENDING -> day.setPendingRevenue(day.getPendingRevenue().add(amount));
+            case CONFIRMED -> day.setConfirmedRevenue(day.getConfirmedRevenue().add(amount));
+            case COMPLETED -> day.setCompletedRevenue(day.getCompletedRevenue().add(amount));
+            case CANCELED -> day.setCanceledRevenue(day.getCanceledRevenue().add(amount));
+            case DENIED -> day.setDeniedRevenue(day.getDeniedRevenue().add(amount));
+        }
+    }
+
+    private static LocalDate earlier(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,193 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Short-lived holds on a bed and date range, taken while a user fills in the booking form.
+ * Each bed's holds are an immutable list swapped in with compare-and-set, so placing, releasing
+ * and sweeping never take a lock and never block callers working on other beds.
+ */
+@Component
+public class BookingHoldStore {
+
+    @Value("${app.booking.hold-minutes:10}")
+    private long holdMinutes;
+
+    private final Map<Long, AtomicReference<List<Hold>>> holdsByBed = new ConcurrentHashMap<>();
+    private final Map<String, Long> bedByHold = new ConcurrentHashMap<>();
+
+    // Swapped in by the sweeper for an empty list before the bed's entry is removed; placers seeing it start over
+    private static final List<Hold> RETIRED = Collections.unmodifiableList(new ArrayList<>());
+
+    // Places a hold for the owner, or returns null when someone else holds an overlapping range.
+    // The owner's own overlapping holds on the bed are replaced.
+    public Hold place(Long bedId, LocalDate checkIn, LocalDate checkOut, String owner) {
+        Hold hold = new Hold(UUID.randomUUID().toString(), bedId, checkIn, checkOut, owner,
+                Instant.now().plus(Duration.ofMinutes(holdMinutes)));
+        while (true) {
+            AtomicReference<List<Hold>> ref = holdsByBed.computeIfAbsent(bedId, id -> new AtomicReference<>(Collections.emptyList()));
+            List<Hold> current = ref.get();
+            if (current == RETIRED) {
+                holdsByBed.remove(bedId, ref);
+                continue;
+            }
+            Instant now = Instant.now();
+            List<Hold> next = new ArrayList<>(current.size() + 1);
+            for (Hold existing : current) {
+                if (existing.isExpired(now)) {
+                    continue;
+                }
+                if (existing.overlaps(checkIn, checkOut)) {
+                    if (!existing.owner.equals(owner)) {
+                        return null;
+                    }
+                    continue; // Superseded by the new hold
+                }
+                next.add(existing);
+            }
+            next.add(hold);
+            if (!ref.compareAndSet(current, Collections.unmodifiableList(next))) {
+                continue;
+            }
+            for (Hold existing : current) {
+                if (!next.contains(existing)) {
+                    bedByHold.remove(existing.holdId);
+                }
+            }
+            bedByHold.put(hold.holdId, bedId);
+            return hold;
+        }
+    }
+
+    // Releases a hold; only its owner may release it. Returns false when there is no such hold.
+    public boolean release(String holdId, String owner) {
+        Long bedId = bedByHold.get(holdId);
+        AtomicReference<List<Hold>> ref = bedId == null ? null : holdsByBed.get(bedId);
+        if (ref == null) {
+            return false;
+        }
+        while (true) {
+            List<Hold> current = ref.get();
+            List<Hold> next = new ArrayList<>(current.size());
+            boolean found = false;
+            for (Hold existing : current) {
+                if (existing.holdId.equals(holdId) && (owner == null || existing.owner.equals(owner))) {
+                    found = true;
+                } else {
+                    next.add(existing);
+                }
+            }
+            if (!found) {
+                return false;
+            }
+            if (ref.compareAndSet(current, Collections.unmodifiableList(next))) {
+                bedByHold.remove(holdId);
+                return true;
+            }
+        }
+    }
+
+    // Releases a hold once the booking it protected has been saved
+    public void consume(String holdId) {
+        if (holdId != null) {
+            release(holdId, null);
+        }
+    }
+
+    // True when a live hold other than the given one overlaps [checkIn, checkOut) on the bed
+    public boolean isHeldByOthers(Long bedId, LocalDate checkIn, LocalDate checkOut, String ownHoldId) {
+        AtomicReference<List<Hold>> ref = holdsByBed.get(bedId);
+        if (ref == null) {
+            return false;
+        }
+        Instant now = Instant.now();
+        for (Hold hold : ref.get()) {
+            if (!hold.isExpired(now) && hold.overlaps(checkIn, checkOut) && !hold.holdId.equals(ownHoldId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Beds with a live hold overlapping [checkIn, checkOut)
+    public Set<Long> heldBedIds(LocalDate checkIn, LocalDate checkOut) {
+        Set<Long> held = new HashSet<>();
+        Instant now = Instant.now();
+        holdsByBed.forEach((bedId, ref) -> {
+            for (Hold hold : ref.get()) {
+                if (!hold.isExpired(now) && hold.overlaps(checkIn, checkOut)) {
+                    held.add(bedId);
+                    break;
+                }
+            }
+        });
+        return held;
+    }
+
+    // Drops expired holds bed by bed; a bed left without holds is retired and removed
+    @Scheduled(fixedDelay = 60000)
+    public void sweepExpired() {
+        Instant now = Instant.now();
+        holdsByBed.forEach((bedId, ref) -> {
+            while (true) {
+                List<Hold> current = ref.get();
+                List<Hold> live = new ArrayList<>(current.size());
+                for (Hold hold : current) {
+                    if (hold.isExpired(now)) {
+                        bedByHold.remove(hold.holdId);
+                    } else {
+                        live.add(hold);
+                    }
+                }
+                if (current == RETIRED) {
+                    break;
+                }
+                if (live.isEmpty()) {
+                    if (ref.compareAndSet(current, RETIRED)) {
+                        holdsByBed.remove(bedId, ref);
+                        break;
+                    }
+                } else if (live.size() == current.size() || ref.compareAndSet(current, Collections.unmodifiableList(live))) {
+                    break;
+                }
+            }
+        });
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hold {
+        private final String holdId;
+        private final Long bedId;
+        private final LocalDate checkInDate;
+        private final LocalDate checkOutDate;
+        private final String owner;
+        private final Instant expiresAt;
+
+        private boolean isExpired(Instant now) {
+            return !expiresAt.isAfter(now);
+        }
+
+        private boolean overlaps(LocalDate checkIn, LocalDate checkOut) {
+            return checkInDate.isBefore(checkOut) && checkOutDate.isAfter(checkIn);
+        }
+    }
+}
@@ -1,19 +1,47 @@
 package com.Application.GuestHouseBooking.service.implementations;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.Application.GuestHouseBooking.MailServices.MailService;
 import com.Application.GuestHouseBooking.dtos.BookingDTO;
+import com.Application.GuestHouseBooking.dtos.BookingHoldDTO;
+import com.Application.GuestHouseBooking.dtos.GroupBookingDTO;
+import com.Application.GuestHouseBooking.dtos.PageResponseDTO;
 import com.Application.GuestHouseBooking.entity.Bed;
 import com.Application.GuestHouseBooking.entity.Booking;
 import com.Application.GuestHouseBooking.entity.User;
+import com.Application.GuestHouseBooking.events.BookingChangedEvent;
+import com.Application.GuestHouseBooking.exceptions.BookingConflictException;
 import com.Application.GuestHouseBooking.repository.BedRepository;
 import com.Application.GuestHouseBooking.repository.BookingRepository;
 import com.Application.GuestHouseBooking.repository.UserRepository;
@@ -41,6 +69,27 @@ public class BookingServiceImplementations implements BookingServices {
     @Autowired
     private MailService mailService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BookingSuggestionFinder bookingSuggestionFinder;
+
+    @Autowired
+    private BookingHoldStore bookingHoldStore;
+
+    @Autowired
+    private BedAvailabilityIndex bedAvailabilityIndex;
+
+    @Autowired
+    private KeysetPaging keysetPaging;
+
+    private static final int MAX_GROUP_SIZE = 50;
+
+    private static final List<String> EXPORT_COLUMNS = List.of(
+            "id", "status", "checkInDate", "checkOutDate", "totalPrice", "firstName", "lastName", "email",
+            "phoneNumber", "userId", "guestHouseName", "city", "roomNumber", "bedNumber", "purpose", "createdAt");
+
     // Helper for converting Entity to DTO
     private BookingDTO convertToDTO(Booking booking) {
         BookingDTO dto = new BookingDTO();
@@ -82,6 +131,43 @@ public class BookingServiceImplementations implements BookingServices {
         return dto;
     }
 
+    // Read endpoints build the DTO from a flat projection row instead of the entity graph
+    private BookingDTO convertToDTO(BookingRepository.BookingView view) {
+        BookingDTO dto = new BookingDTO();
+        dto.setId(view.getId());
+        dto.setUserId(view.getUserId());
+        dto.setBedId(view.getBedId());
+        dto.setRoomId(view.getRoomId());
+        dto.setGuestHouseId(view.getGuestHouseId());
+        dto.setCheckInDate(view.getCheckInDate());
+        dto.setCheckOutDate(view.getCheckOutDate());
+        dto.setStatus(view.getStatus());
+        dto.setTotalPrice(view.getTotalPrice());
+        dto.setPurpose(view.getPurpose());
+        dto.setCreatedAt(view.getCreatedAt());
+        dto.setUpdatedAt(view.getUpdatedAt());
+        dto.setCreatedBy(view.getCreatedBy());
+        dto.setLastModifiedBy(view.getLastModifiedBy());
+
+        dto.setUserName(view.getUserId() != null ?
+            view.getUserFirstName() + " " + view.getUserLastName() :
+            view.getFirstName() + " " + view.getLastName());
+        dto.setBedNumber(view.getBedNumber());
+        dto.setRoomNumber(view.getRoomNumber());
+        dto.setGuestHouseName(view.getGuestHouseName());
+
+        dto.setFirstName(view.getFirstName());
+        dto.setLastName(view.getLastName());
+        dto.setEmail(view.getEmail());
+        dto.setPhoneNumber(view.getPhoneNumber());
+        dto.setGender(view.getGender());
+        dto.setAddress(view.getAddress());
+
+        dto.setRejectionReason(view.getRejectionReason());
+        dto.setCancellationReason(view.getCancellationReason());
+        return dto;
+    }
+
     // Helper for converting DTO to Entity
     private Booking convertToEntity(BookingDTO bookingDTO) {
         Booking booking = new Booking();
@@ -131,31 +217,34 @@ public class BookingServiceImplementations implements BookingServices {
 
     // --- CRUD Operations ---
 
+    // The bed row stays locked until commit, so the overlap check and the insert cannot interleave
+    // with another booking for the same bed; bookings for other beds are not affected
+    @Transactional
     public BookingDTO createBooking(BookingDTO bookingDTO) {
         if (bookingDTO.getCheckInDate().isAfter(bookingDTO.getCheckOutDate())) {
             throw new RuntimeException("Check-in date cannot be after check-out date.");
         }
 
-        Bed bed = bedRepository.findById(bookingDTO.getBedId())
+        Bed bed = bedRepository.findByIdForUpdate(bookingDTO.getBedId())
                 .orElseThrow(() -> new RuntimeException("Bed not found for booking: " + bookingDTO.getBedId()));
 
         List<Booking> overlappingBookings = bookingRepository.findByBedIdAndCheckOutDateAfterAndCheckInDateBefore(
                 bookingDTO.getBedId(), bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate());
         if (!overlappingBookings.isEmpty()) {
-            throw new RuntimeException("Bed is not available for the selected dates.");
+            String message = "Bed is not available for the selected dates.";
+            throw new BookingConflictException(message, bookingSuggestionFinder.suggest(
+                    bed, bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate(), message));
+        }
+        if (bookingHoldStore.isHeldByOthers(bed.getId(), bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate(), bookingDTO.getHoldId())) {
+            String message = "Bed is being booked by another user for the selected dates.";
+            throw new BookingConflictException(message, bookingSuggestionFinder.suggest(
+                    bed, bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate(), message));
         }
 
         Booking booking = convertToEntity(bookingDTO);
         Booking savedBooking = bookingRepository.save(booking);
-
-        // Update bed availability - mark as booked
-        bed.markAsBooked();
-        bedRepository.save(bed);
-        System.out.println("=== Bed Availability Update ===");
-        System.out.println("Bed ID: " + bed.getId() + " marked as booked");
-        System.out.println("Bed isAvailable: " + bed.getIsAvailable());
-        System.out.println("Bed isAvailableForBooking: " + bed.getIsAvailableForBooking());
-        System.out.println("=================================");
+        eventPublisher.publishEvent(new BookingChangedEvent(
+                savedBooking.getId(), null, BookingChangedEvent.Snapshot.of(savedBooking)));
 
         // --- Audit Log: CREATE ---
         try {
@@ -172,42 +261,378 @@ public class BookingServiceImplementations implements BookingServices {
             System.err.println("Failed to log audit for Booking creation: " + e.getMessage());
         }
 
-        // Send notifications
-        try {
-            // Send admin notification
-            mailService.sendBookingNotificationToAdmin(savedBooking);
-            
-            // If it's an admin booking (status is CONFIRMED), also send guest confirmation
-            if (savedBooking.getStatus() == Booking.BookingStatus.CONFIRMED) {
-                mailService.sendBookingConfirmationToGuest(savedBooking);
+        // Release the hold and send notifications once committed, so neither happens for a rolled-back booking
+        // and a slow mail server does not keep the bed locked
+        afterCommit(() -> {
+            bookingHoldStore.consume(bookingDTO.getHoldId());
+            try {
+                // Send admin notification
+                mailService.sendBookingNotificationToAdmin(savedBooking);
+
+                // If it's an admin booking (status is CONFIRMED), also send guest confirmation
+                if (savedBooking.getStatus() == Booking.BookingStatus.CONFIRMED) {
+                    mailService.sendBookingConfirmationToGuest(savedBooking);
+                }
+            } catch (Exception e) {
+                System.err.println("Failed to send notification emails: " + e.getMessage());
             }
-        } catch (Exception e) {
-            System.err.println("Failed to send notification emails: " + e.getMessage());
-        }
+        });
 
         return convertToDTO(savedBooking);
     }
 
+    // Reserves one bed per guest for the same dates, all or nothing. READ_COMMITTED because the re-check after
+    // taking the bed locks must see bookings committed while we waited; under REPEATABLE READ it would reuse
+    // the snapshot of the first free-bed read and could hand out a bed another transaction just booked
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public List<BookingDTO> createGroupBooking(GroupBookingDTO groupBookingDTO) {
+        List<GroupBookingDTO.Guest> guests = groupBookingDTO.getGuests();
+        if (guests == null || guests.isEmpty()) {
+            throw new RuntimeException("A group booking needs at least one guest.");
+        }
+        if (guests.size() > MAX_GROUP_SIZE) {
+            throw new RuntimeException("A group booking can hold at most " + MAX_GROUP_SIZE + " guests.");
+        }
+        if (groupBookingDTO.getCheckInDate() == null || groupBookingDTO.getCheckOutDate() == null) {
+            throw new RuntimeException("Check-in and check-out dates are required.");
+        }
+        long numberOfNights = ChronoUnit.DAYS.between(groupBookingDTO.getCheckInDate(), groupBookingDTO.getCheckOutDate());
+        if (numberOfNights <= 0) {
+            throw new RuntimeException("Check-out date must be after check-in date.");
+        }
+
+        User user = null;
+        if (groupBookingDTO.getUserId() != null) {
+            user = userRepository.findById(groupBookingDTO.getUserId())
+                    .orElseThrow(() -> new RuntimeException("User not found with ID: " + groupBookingDTO.getUserId()));
+        }
+
+        String city = (groupBookingDTO.getCity() == null || groupBookingDTO.getCity().isBlank())
+                ? null : groupBookingDTO.getCity().trim();
+        if (city == null && groupBookingDTO.getGuestHouseId() == null) {
+            throw new RuntimeException("Either a guest house or a city is required for a group booking.");
+        }
+
+        // Pick the beds from one read of the free set, then lock them and re-read the free set: every booking insert
+        // holds its bed's lock, so after the locks are ours the re-check sees all competing bookings
+        Set<Long> freeBedIds = findFreeBedIds(groupBookingDTO, city);
+        List<BedRepository.BedLocation> candidates = bedRepository
+                .findBookableBedLocations(city, groupBookingDTO.getGuestHouseId()).stream()
+                .filter(location -> freeBedIds.contains(location.getBedId()))
+                .filter(location -> !bookingHoldStore.isHeldByOthers(location.getBedId(),
+                        groupBookingDTO.getCheckInDate(), groupBookingDTO.getCheckOutDate(), null))
+                .collect(Collectors.toList());
+        List<Long> chosenBedIds = allocateBeds(candidates, guests.size());
+        if (chosenBedIds == null) {
+            throw new RuntimeException("Not enough free beds for " + guests.size() + " guests between "
+                    + groupBookingDTO.getCheckInDate() + " and " + groupBookingDTO.getCheckOutDate() + ".");
+        }
+
+        List<Bed> lockedBeds = bedRepository.findAllByIdForUpdate(chosenBedIds);
+        Set<Long> stillFree = findFreeBedIds(groupBookingDTO, city);
+        if (lockedBeds.size() != chosenBedIds.size() || !stillFree.containsAll(chosenBedIds)) {
+            throw new RuntimeException("Some of the selected beds were booked by someone else, please try again.");
+        }
+
+        Map<Long, Bed> bedsById = lockedBeds.stream().collect(Collectors.toMap(Bed::getId, bed -> bed));
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < guests.size(); i++) {
+            GroupBookingDTO.Guest guest = guests.get(i);
+            Bed bed = bedsById.get(chosenBedIds.get(i));
+            if (bed.getPricePerNight() == null) {
+                throw new RuntimeException("Bed price per night is not set for bed ID: " + bed.getId());
+            }
+
+            Booking booking = new Booking();
+            booking.setUser(user);
+            booking.setBed(bed);
+            booking.setCheckInDate(groupBookingDTO.getCheckInDate());
+            booking.setCheckOutDate(groupBookingDTO.getCheckOutDate());
+            booking.setStatus(groupBookingDTO.getStatus() != null ? groupBookingDTO.getStatus() : Booking.BookingStatus.PENDING);
+            booking.setPurpose(groupBookingDTO.getPurpose());
+            booking.setFirstName(guest.getFirstName());
+            booking.setLastName(guest.getLastName());
+            booking.setEmail(guest.getEmail());
+            booking.setPhoneNumber(guest.getPhoneNumber());
+            booking.setGender(guest.getGender());
+            booking.setAddress(guest.getAddress());
+            booking.setTotalPrice(bed.getPricePerNight().multiply(BigDecimal.valueOf(numberOfNights)));
+            bookings.add(booking);
+        }
+
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+
+        for (Booking savedBooking : savedBookings) {
+            eventPublisher.publishEvent(new BookingChangedEvent(
+                    savedBooking.getId(), null, BookingChangedEvent.Snapshot.of(savedBooking)));
+            try {
+                auditLogService.logAudit(
+                        "Booking",
+                        savedBooking.getId(),
+                        "CREATE",
+                        savedBooking.getCreatedBy(),
+                        null,
+                        objectMapper.writeValueAsString(savedBooking),
+                        "Group booking of " + savedBookings.size() + " beds created on Bed ID: " + savedBooking.getBed().getId()
+                );
+            } catch (Exception e) {
+                System.err.println("Failed to log audit for group Booking creation: " + e.getMessage());
+            }
+        }
+
+        // Mail only once the bookings are committed, so a slow mail server does not hold the bed locks
+        afterCommit(() -> {
+            for (Booking savedBooking : savedBookings) {
+                try {
+                    mailService.sendBookingNotificationToAdmin(savedBooking);
+                    if (savedBooking.getStatus() == Booking.BookingStatus.CONFIRMED) {
+                        mailService.sendBookingConfirmationToGuest(savedBooking);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Failed to send notification emails: " + e.getMessage());
+                }
+            }
+        });
+
+        return savedBookings.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Runs the action after the current transaction commits, or straight away when there is none
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Holds a bed for the owner while they fill in the booking form
+    public BookingHoldDTO placeHold(BookingHoldDTO bookingHoldDTO, String owner) {
+        if (bookingHoldDTO.getBedId() == null || bookingHoldDTO.getCheckInDate() == null || bookingHoldDTO.getCheckOutDate() == null) {
+            throw new RuntimeException("Bed, check-in and check-out dates are required for a hold.");
+        }
+        if (!bookingHoldDTO.getCheckOutDate().isAfter(bookingHoldDTO.getCheckInDate())) {
+            throw new RuntimeException("Check-out date must be after check-in date.");
+        }
+        Bed bed = bedRepository.findById(bookingHoldDTO.getBedId())
+                .orElseThrow(() -> new RuntimeException("Bed not found with ID: " + bookingHoldDTO.getBedId()));
+
+        boolean free = bedAvailabilityIndex.isReady()
+                ? bedAvailabilityIndex.isFree(bed.getId(), bookingHoldDTO.getCheckInDate(), bookingHoldDTO.getCheckOutDate())
+                : bookingRepository.findFreeBedIdsInRoom(bed.getRoom().getId(),
+                        bookingHoldDTO.getCheckInDate(), bookingHoldDTO.getCheckOutDate()).contains(bed.getId());
+        BookingHoldStore.Hold hold = free
+                ? bookingHoldStore.place(bed.getId(), bookingHoldDTO.getCheckInDate(), bookingHoldDTO.getCheckOutDate(), owner)
+                : null;
+        if (hold == null) {
+            String message = free ? "Bed is being booked by another user for the selected dates."
+                    : "Bed is not available for the selected dates.";
+            throw new BookingConflictException(message, bookingSuggestionFinder.suggest(
+                    bed, bookingHoldDTO.getCheckInDate(), bookingHoldDTO.getCheckOutDate(), message));
+        }
+
+        BookingHoldDTO dto = new BookingHoldDTO();
+        dto.setHoldId(hold.getHoldId());
+        dto.setBedId(hold.getBedId());
+        dto.setCheckInDate(hold.getCheckInDate());
+        dto.setCheckOutDate(hold.getCheckOutDate());
+        dto.setExpiresAt(hold.getExpiresAt());
+        return dto;
+    }
+
+    public boolean releaseHold(String holdId, String owner) {
+        return bookingHoldStore.release(holdId, owner);
+    }
+
+    private Set<Long> findFreeBedIds(GroupBookingDTO groupBookingDTO, String city) {
+        List<Long> free = groupBookingDTO.getGuestHouseId() != null
+                ? bookingRepository.findFreeBedIdsInGuestHouse(groupBookingDTO.getGuestHouseId(),
+                        groupBookingDTO.getCheckInDate(), groupBookingDTO.getCheckOutDate())
+                : bookingRepository.findFreeBedIdsInCity(city,
+                        groupBookingDTO.getCheckInDate(), groupBookingDTO.getCheckOutDate());
+        return new HashSet<>(free);
+    }
+
+    /**
+     * Chooses which free beds a group gets, in order of preference:
+     * the smallest single room that fits everyone, then the guest house with the fewest spare beds
+     * that fits everyone (filling its largest rooms first), then several guest houses, largest first.
+     * Returns null when there are not enough free beds in total.
+     */
+    private List<Long> allocateBeds(List<BedRepository.BedLocation> freeBeds, int count) {
+        if (freeBeds.size() < count) {
+            return null;
+        }
+
+        Map<Long, List<Long>> bedsByRoom = new LinkedHashMap<>();
+        Map<Long, List<List<Long>>> roomsByGuestHouse = new LinkedHashMap<>();
+        for (BedRepository.BedLocation bed : freeBeds) {
+            List<Long> roomBeds = bedsByRoom.get(bed.getRoomId());
+            if (roomBeds == null) {
+                roomBeds = new ArrayList<>();
+                bedsByRoom.put(bed.getRoomId(), roomBeds);
+                roomsByGuestHouse.computeIfAbsent(bed.getGuestHouseId(), id -> new ArrayList<>()).add(roomBeds);
+            }
+            roomBeds.add(bed.getBedId());
+        }
+
+        // Tightest fit keeps the bigger rooms for bigger groups
+        List<Long> bestRoom = null;
+        for (List<Long> roomBeds : bedsByRoom.values()) {
+            if (roomBeds.size() >= count && (bestRoom == null || roomBeds.size() < bestRoom.size())) {
+                bestRoom = roomBeds;
+            }
+        }
+        if (bestRoom != null) {
+            return new ArrayList<>(bestRoom.subList(0, count));
+        }
+
+        List<List<List<Long>>> guestHouses = new ArrayList<>(roomsByGuestHouse.values());
+        List<List<Long>> bestGuestHouse = null;
+        int bestGuestHouseSize = Integer.MAX_VALUE;
+        for (List<List<Long>> rooms : guestHouses) {
+            int size = rooms.stream().mapToInt(List::size).sum();
+            if (size >= count && size < bestGuestHouseSize) {
+                bestGuestHouse = rooms;
+                bestGuestHouseSize = size;
+            }
+        }
+        if (bestGuestHouse != null) {
+            return fillLargestRoomsFirst(bestGuestHouse, count);
+        }
+
+        List<List<Long>> allRooms = new ArrayList<>();
+        guestHouses.sort(Comparator.comparingInt((List<List<Long>> rooms) -> rooms.stream().mapToInt(List::size).sum()).reversed());
+        for (List<List<Long>> rooms : guestHouses) {
+            allRooms.addAll(rooms);
+        }
+        return fillInOrder(allRooms, count);
+    }
+
+    private List<Long> fillLargestRoomsFirst(List<List<Long>> rooms, int count) {
+        List<List<Long>> ordered = new ArrayList<>(rooms);
+        ordered.sort(Comparator.comparingInt((List<Long> roomBeds) -> roomBeds.size()).reversed());
+        return fillInOrder(ordered, count);
+    }
+
+    private List<Long> fillInOrder(List<List<Long>> rooms, int count) {
+        List<Long> chosen = new ArrayList<>(count);
+        for (List<Long> roomBeds : rooms) {
+            for (Long bedId : roomBeds) {
+                if (chosen.size() == count) {
+                    return chosen;
+                }
+                chosen.add(bedId);
+            }
+        }
+        return chosen.size() == count ? chosen : null;
+    }
+
     public Optional<BookingDTO> getBookingById(Long id) {
-        return bookingRepository.findByIdWithDetails(id)
+        return bookingRepository.findViewById(id)
                 .map(this::convertToDTO);
     }
 
+    // Writes matching bookings straight to the output as they are read, so memory use does not grow with the export
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBookings(String format, LocalDate fromDate, LocalDate toDate, Collection<Booking.BookingStatus> statuses,
+                               OutputStream output) throws IOException {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (!ndjson) {
+            writer.write(String.join(",", EXPORT_COLUMNS));
+            writer.write("\n");
+        }
+        long rows = 0;
+        try (Stream<BookingRepository.BookingExportRow> bookings = bookingRepository.streamForExport(fromDate, toDate, statuses)) {
+            Iterator<BookingRepository.BookingExportRow> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                List<Object> values = exportValues(iterator.next());
+                if (ndjson) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 0; i < EXPORT_COLUMNS.size(); i++) {
+                        row.put(EXPORT_COLUMNS.get(i), values.get(i));
+                    }
+                    writer.write(objectMapper.writeValueAsString(row));
+                } else {
+                    for (int i = 0; i < values.size(); i++) {
+                        if (i > 0) {
+                            writer.write(',');
+                        }
+                        writer.write(csvField(values.get(i)));
+                    }
+                }
+                writer.write("\n");
+                if (++rows % 1000 == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private List<Object> exportValues(BookingRepository.BookingExportRow row) {
+        return Arrays.asList(
+                row.getId(), row.getStatus() == null ? null : row.getStatus().name(),
+                row.getCheckInDate() == null ? null : row.getCheckInDate().toString(),
+                row.getCheckOutDate() == null ? null : row.getCheckOutDate().toString(),
+                row.getTotalPrice(), row.getFirstName(), row.getLastName(), row.getEmail(), row.getPhoneNumber(),
+                row.getUserId(), row.getGuestHouseName(), row.getCity(), row.getRoomNumber(), row.getBedNumber(),
+                row.getPurpose(), row.getCreatedAt() == null ? null : row.getCreatedAt().toString());
+    }
+
+    // Quotes a value when it contains a separator, quote or line break (RFC 4180). Guest-entered text starting
+    // with a formula trigger gets a leading apostrophe so spreadsheets show it instead of evaluating it
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
     public List<BookingDTO> getAllBookings() {
-        return bookingRepository.findAllWithDetails().stream()
+        return bookingRepository.findAllViews().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public PageResponseDTO<BookingDTO> getBookingsPage(Booking.BookingStatus status, String cursor, Integer size) {
+        KeysetPaging.Position after = keysetPaging.decode(cursor);
+        // Separate queries so each can range-scan its own index instead of an optional-filter predicate
+        Slice<BookingRepository.BookingView> slice = status == null
+                ? bookingRepository.findPageAfter(after.getCreatedAt(), after.getId(), keysetPaging.pageable(size))
+                : bookingRepository.findPageByStatusAfter(status, after.getCreatedAt(), after.getId(), keysetPaging.pageable(size));
+        return keysetPaging.toPage(slice,
+                BookingRepository.BookingView::getCreatedAt, BookingRepository.BookingView::getId,
+                bookings -> bookings.stream().map(this::convertToDTO).collect(Collectors.toList()));
+    }
+
     public List<BookingDTO> getBookingsByUserId(Long userId) {
-        return bookingRepository.findByUserIdWithDetails(userId).stream()
+        return bookingRepository.findViewsByUserId(userId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     // *** MODIFICATION HERE: Get bookings by Bed ID ***
     public List<BookingDTO> getBookingsByBedId(Long bedId) {
-        return bookingRepository.findByBedIdWithDetails(bedId).stream()
+        return bookingRepository.findViewsByBedId(bedId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -217,6 +642,7 @@ public class BookingServiceImplementations implements BookingServices {
         if (existingBookingOptional.isPresent()) {
             Booking existingBooking = existingBookingOptional.get();
             Booking.BookingStatus oldStatus = existingBooking.getStatus();
+            BookingChangedEvent.Snapshot before = BookingChangedEvent.Snapshot.of(existingBooking);
 
             String oldValue = null;
             try {
@@ -256,6 +682,8 @@ public class BookingServiceImplementations implements BookingServices {
             }
 
             Booking updatedBooking = bookingRepository.save(existingBooking);
+            eventPublisher.publishEvent(new BookingChangedEvent(
+                    updatedBooking.getId(), before, BookingChangedEvent.Snapshot.of(updatedBooking)));
 
             // --- Audit Log: UPDATE ---
             try {
@@ -288,54 +716,11 @@ public class BookingServiceImplementations implements BookingServices {
                 System.err.println("Failed to send notification emails: " + e.getMessage());
             }
 
-            // Update bed availability based on booking status
-            updateBedAvailabilityForBooking(updatedBooking, oldStatus);
-
             return Optional.of(convertToDTO(updatedBooking));
         }
         return Optional.empty();
     }
 
-    // Helper method to update bed availability based on booking status
-    private void updateBedAvailabilityForBooking(Booking booking, Booking.BookingStatus oldStatus) {
-        Bed bed = booking.getBed();
-        boolean shouldUpdateBed = false;
-        
-        System.out.println("=== Bed Availability Update for Booking Status Change ===");
-        System.out.println("Booking ID: " + booking.getId());
-        System.out.println("Old Status: " + oldStatus);
-        System.out.println("New Status: " + booking.getStatus());
-        System.out.println("Bed ID: " + bed.getId());
-        
-        // If booking is cancelled or denied, mark bed as available
-        if (booking.getStatus() == Booking.BookingStatus.CANCELED || 
-            booking.getStatus() == Booking.BookingStatus.DENIED) {
-            bed.markAsAvailable();
-            shouldUpdateBed = true;
-            System.out.println("Bed marked as available (booking cancelled/denied)");
-        }
-        // If booking is confirmed, mark bed as booked
-        else if (booking.getStatus() == Booking.BookingStatus.CONFIRMED && 
-                 oldStatus != Booking.BookingStatus.CONFIRMED) {
-            bed.markAsBooked();
-            shouldUpdateBed = true;
-            System.out.println("Bed marked as booked (booking confirmed)");
-        }
-        // If booking is completed, keep bed as booked (it's still occupied)
-        else if (booking.getStatus() == Booking.BookingStatus.COMPLETED) {
-            // Bed remains booked until checkout date
-            System.out.println("Bed remains booked (booking completed)");
-        }
-        
-        if (shouldUpdateBed) {
-            bedRepository.save(bed);
-            System.out.println("Bed availability updated in database");
-            System.out.println("Bed isAvailable: " + bed.getIsAvailable());
-            System.out.println("Bed isAvailableForBooking: " + bed.getIsAvailableForBooking());
-        }
-        System.out.println("=======================================================");
-    }
-
     public boolean deleteBooking(Long id) {
         Optional<Booking> bookingToDeleteOptional = bookingRepository.findById(id);
         if (bookingToDeleteOptional.isPresent()) {
@@ -348,7 +733,9 @@ public class BookingServiceImplementations implements BookingServices {
                 System.err.println("Failed to convert old Booking to JSON for delete: " + e.getMessage());
             }
 
+            BookingChangedEvent.Snapshot before = BookingChangedEvent.Snapshot.of(bookingToDelete);
             bookingRepository.deleteById(id);
+            eventPublisher.publishEvent(new BookingChangedEvent(id, before, null));
 
             // --- Audit Log: DELETE ---
             auditLogService.logAudit(
@@ -367,19 +754,19 @@ public class BookingServiceImplementations implements BookingServices {
     }
 
     public List<BookingDTO> getBookingsByStatus(Booking.BookingStatus status) {
-        return bookingRepository.findByStatusWithDetails(status).stream()
+        return bookingRepository.findViewsByStatus(status).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<BookingDTO> getBookingsByStatusAndUserId(Booking.BookingStatus status, Long userId) {
-        return bookingRepository.findByStatusAndUserIdWithDetails(status, userId).stream()
+        return bookingRepository.findViewsByStatusAndUserId(status, userId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<BookingDTO> getActiveBookings() {
-        return bookingRepository.findAllActiveBookingsWithDetails().stream()
+        return bookingRepository.findActiveViews(Booking.BookingStatus.activeStatuses()).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,146 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.Application.GuestHouseBooking.dtos.BookingSuggestionsDTO;
+import com.Application.GuestHouseBooking.entity.Bed;
+import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
+import com.Application.GuestHouseBooking.repository.BedRepository;
+import com.Application.GuestHouseBooking.repository.BookingRepository;
+
+/**
+ * Builds the alternatives offered when a booking request conflicts: free windows of the same length on the
+ * requested bed, found by walking the gaps between its sorted bookings, and other beds free for the original dates.
+ */
+@Component
+public class BookingSuggestionFinder {
+
+    private static final int MAX_DATE_SUGGESTIONS = 3;
+    private static final int MAX_BED_SUGGESTIONS = 5;
+    private static final int SEARCH_DAYS = 90; // How far either side of the requested check-in to look
+
+    @Autowired
+    private BedAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BedRepository bedRepository;
+
+    public BookingSuggestionsDTO suggest(Bed bed, LocalDate checkIn, LocalDate checkOut, String message) {
+        BookingSuggestionsDTO suggestions = new BookingSuggestionsDTO();
+        suggestions.setMessage(message);
+        suggestions.setBedId(bed.getId());
+        suggestions.setCheckInDate(checkIn);
+        suggestions.setCheckOutDate(checkOut);
+        try {
+            suggestions.setAlternativeDates(nearestFreeWindows(bookedRanges(bed.getId()), checkIn, checkOut));
+            suggestions.setAlternativeBeds(freeBedsNearby(bed, checkIn, checkOut));
+        } catch (Exception e) {
+            // Suggestions are a convenience; the rejection itself must still go out
+            System.err.println("Failed to build booking suggestions: " + e.getMessage());
+        }
+        return suggestions;
+    }
+
+    private List<BedAvailabilityIndex.BookedRange> bookedRanges(Long bedId) {
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.bookedRanges(bedId);
+        }
+        return bookingRepository.findIntervalsByBedIdAndStatusIn(bedId, BookingStatus.activeStatuses()).stream()
+                .map(interval -> new BedAvailabilityIndex.BookedRange(interval.getCheckInDate(), interval.getCheckOutDate()))
+                .collect(Collectors.toList());
+    }
+
+    // One candidate per gap between bookings (the start closest to the requested check-in), nearest first
+    private List<BookingSuggestionsDTO.DateWindow> nearestFreeWindows(
+            List<BedAvailabilityIndex.BookedRange> ranges, LocalDate checkIn, LocalDate checkOut) {
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        LocalDate today = LocalDate.now();
+        LocalDate earliest = checkIn.minusDays(SEARCH_DAYS).isBefore(today) ? today : checkIn.minusDays(SEARCH_DAYS);
+        LocalDate latest = checkIn.plusDays(SEARCH_DAYS);
+
+        List<BookingSuggestionsDTO.DateWindow> windows = new ArrayList<>();
+        LocalDate gapStart = earliest;
+        for (BedAvailabilityIndex.BookedRange range : ranges) {
+            if (!range.getCheckOut().isAfter(gapStart)) {
+                continue;
+            }
+            if (range.getCheckIn().isAfter(gapStart)) {
+                addWindow(windows, gapStart, range.getCheckIn(), checkIn, nights);
+            }
+            gapStart = range.getCheckOut();
+            if (gapStart.isAfter(latest)) {
+                break;
+            }
+        }
+        if (!gapStart.isAfter(latest)) {
+            addWindow(windows, gapStart, latest.plusDays(nights), checkIn, nights);
+        }
+
+        windows.sort(Comparator.comparingLong((BookingSuggestionsDTO.DateWindow window) -> Math.abs(window.getDaysFromRequested()))
+                .thenComparing(BookingSuggestionsDTO.DateWindow::getCheckInDate));
+        return windows.size() > MAX_DATE_SUGGESTIONS ? new ArrayList<>(windows.subList(0, MAX_DATE_SUGGESTIONS)) : windows;
+    }
+
+    // Adds the window inside the free gap [gapStart, gapEnd) whose start is closest to the requested check-in
+    private void addWindow(List<BookingSuggestionsDTO.DateWindow> windows, LocalDate gapStart, LocalDate gapEnd,
+                           LocalDate requestedCheckIn, long nights) {
+        LocalDate lastStart = gapEnd.minusDays(nights);
+        if (lastStart.isBefore(gapStart)) {
+            return;
+        }
+        LocalDate start = requestedCheckIn;
+        if (start.isBefore(gapStart)) {
+            start = gapStart;
+        } else if (start.isAfter(lastStart)) {
+            start = lastStart;
+        }
+        long daysFromRequested = ChronoUnit.DAYS.between(requestedCheckIn, start);
+        if (daysFromRequested == 0) {
+            return; // The requested dates themselves; nothing to suggest
+        }
+        BookingSuggestionsDTO.DateWindow window = new BookingSuggestionsDTO.DateWindow();
+        window.setCheckInDate(start);
+        window.setCheckOutDate(start.plusDays(nights));
+        window.setDaysFromRequested(daysFromRequested);
+        windows.add(window);
+    }
+
+    private List<BookingSuggestionsDTO.AlternativeBed> freeBedsNearby(Bed bed, LocalDate checkIn, LocalDate checkOut) {
+        Long roomId = bed.getRoom().getId();
+        Long guestHouseId = bed.getRoom().getGuestHouse().getId();
+        Set<Long> freeBedIds = new HashSet<>(bookingRepository.findFreeBedIdsInGuestHouse(guestHouseId, checkIn, checkOut));
+
+        List<BookingSuggestionsDTO.AlternativeBed> sameRoom = new ArrayList<>();
+        List<BookingSuggestionsDTO.AlternativeBed> otherRooms = new ArrayList<>();
+        for (BedRepository.BedLocation location : bedRepository.findBookableBedLocations(null, guestHouseId)) {
+            if (location.getBedId().equals(bed.getId()) || !freeBedIds.contains(location.getBedId())) {
+                continue;
+            }
+            BookingSuggestionsDTO.AlternativeBed alternative = new BookingSuggestionsDTO.AlternativeBed();
+            alternative.setBedId(location.getBedId());
+            alternative.setBedNumber(location.getBedNumber());
+            alternative.setRoomId(location.getRoomId());
+            alternative.setRoomNumber(location.getRoomNumber());
+            alternative.setSameRoom(location.getRoomId().equals(roomId));
+            alternative.setPricePerNight(location.getPricePerNight());
+            (alternative.getSameRoom() ? sameRoom : otherRooms).add(alternative);
+        }
+
+        List<BookingSuggestionsDTO.AlternativeBed> alternatives = new ArrayList<>(sameRoom);
+        alternatives.addAll(otherRooms);
+        return alternatives.size() > MAX_BED_SUGGESTIONS ? new ArrayList<>(alternatives.subList(0, MAX_BED_SUGGESTIONS)) : alternatives;
+    }
+}
@@ -0,0 +1,155 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Application.GuestHouseBooking.entity.Bed;
+import com.Application.GuestHouseBooking.entity.GuestHouse;
+import com.Application.GuestHouseBooking.entity.Room;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Second-level cache regions for the catalog (guest houses, rooms, beds and their collections).
+ * Hibernate keeps them in step with writes made through the session; admin edits also evict the affected
+ * entries explicitly once their transaction commits, so a parent's cached child list never outlives a
+ * change made from the child's side.
+ */
+@Component
+public class CatalogCache {
+
+    private static final String GUEST_HOUSE_REGION = "catalog.guesthouse";
+    private static final String GUEST_HOUSE_ROOMS_REGION = "catalog.guesthouse.rooms";
+    private static final String ROOM_REGION = "catalog.room";
+    private static final String ROOM_BEDS_REGION = "catalog.room.beds";
+    private static final String BED_REGION = "catalog.bed";
+
+    private static final String GUEST_HOUSE_ROOMS = GuestHouse.class.getName() + ".rooms";
+    private static final String ROOM_BEDS = Room.class.getName() + ".beds";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void evictGuestHouse(Long guestHouseId) {
+        afterCommit(cache -> {
+            cache.evictEntityData(GuestHouse.class, guestHouseId);
+            cache.evictCollectionData(GUEST_HOUSE_ROOMS, guestHouseId);
+        });
+    }
+
+    // Evicts the room and the room lists of the guest houses it belonged to before and after the edit
+    public void evictRoom(Long roomId, Long... guestHouseIds) {
+        afterCommit(cache -> {
+            cache.evictEntityData(Room.class, roomId);
+            cache.evictCollectionData(ROOM_BEDS, roomId);
+            for (Long guestHouseId : guestHouseIds) {
+                if (guestHouseId != null) {
+                    cache.evictCollectionData(GUEST_HOUSE_ROOMS, guestHouseId);
+                }
+            }
+        });
+    }
+
+    // Evicts the bed and the bed lists of the rooms it belonged to before and after the edit
+    public void evictBed(Long bedId, Long... roomIds) {
+        afterCommit(cache -> {
+            if (bedId != null) {
+                cache.evictEntityData(Bed.class, bedId);
+            }
+            for (Long roomId : roomIds) {
+                if (roomId != null) {
+                    cache.evictCollectionData(ROOM_BEDS, roomId);
+                }
+            }
+        });
+    }
+
+    // Deleting a guest house or room cascades to everything under it
+    public void evictAll() {
+        afterCommit(cache -> {
+            cache.evictEntityData(GuestHouse.class);
+            cache.evictEntityData(Room.class);
+            cache.evictEntityData(Bed.class);
+            cache.evictCollectionData(GUEST_HOUSE_ROOMS);
+            cache.evictCollectionData(ROOM_BEDS);
+        });
+    }
+
+    public Map<String, Object> stats() {
+        Statistics statistics = sessionFactory().getStatistics();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("hitCount", statistics.getSecondLevelCacheHitCount());
+        result.put("missCount", statistics.getSecondLevelCacheMissCount());
+        result.put("putCount", statistics.getSecondLevelCachePutCount());
+        result.put("hitRate", hitRate(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()));
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : new String[] { GUEST_HOUSE_REGION, GUEST_HOUSE_ROOMS_REGION, ROOM_REGION, ROOM_BEDS_REGION, BED_REGION }) {
+            CacheRegionStatistics regionStatistics;
+            try {
+                regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            } catch (IllegalArgumentException e) {
+                regionStatistics = null; // Region not built, e.g. with the second-level cache switched off
+            }
+            if (regionStatistics == null) {
+                continue;
+            }
+            Map<String, Object> regionResult = new LinkedHashMap<>();
+            regionResult.put("hitCount", regionStatistics.getHitCount());
+            regionResult.put("missCount", regionStatistics.getMissCount());
+            regionResult.put("putCount", regionStatistics.getPutCount());
+            regionResult.put("hitRate", hitRate(regionStatistics.getHitCount(), regionStatistics.getMissCount()));
+            regionResult.put("size", regionSize(region));
+            regions.put(region, regionResult);
+        }
+        result.put("regions", regions);
+        return result;
+    }
+
+    // Hibernate's element count is Long.MIN_VALUE for JCache regions, so ask the Caffeine cache behind the region
+    private Long regionSize(String region) {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory)) {
+            return null;
+        }
+        javax.cache.Cache<Object, Object> cache = ((JCacheRegionFactory) regionFactory).getCacheManager().getCache(region);
+        return cache == null ? null : cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+
+    private static double hitRate(long hits, long misses) {
+        return hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+    }
+
+    // Evicting before commit would let a concurrent read put the old state back until the next edit
+    private void afterCommit(Consumer<Cache> eviction) {
+        Cache cache = sessionFactory().getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.accept(cache);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.accept(cache);
+            }
+        });
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,231 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
+import com.Application.GuestHouseBooking.events.BookingChangedEvent;
+import com.Application.GuestHouseBooking.repository.BedOccupancyRepository;
+import com.Application.GuestHouseBooking.repository.BookingRepository;
+import com.Application.GuestHouseBooking.repository.GuestHouseRepository;
+
+/**
+ * Live booking counters for the dashboard: bookings per status, approved (CONFIRMED + COMPLETED) revenue
+ * and beds occupied tonight. Seeded from the database at startup, moved by every booking change, and
+ * checked against the database on a schedule; any difference found is corrected and kept as a drift report.
+ */
+@Component
+public class DashboardCounters {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BedOccupancyRepository bedOccupancyRepository;
+
+    @Autowired
+    private GuestHouseRepository guestHouseRepository;
+
+    // Catalog counts change with admin edits and available beds with bookings; re-read when stale or after a booking change
+    private static final long CATALOG_MAX_AGE_MILLIS = 60_000;
+    private volatile GuestHouseRepository.CatalogTotals catalogTotals;
+    private volatile long catalogLoadedAt;
+    private volatile boolean catalogStale = true;
+
+    private final Map<BookingStatus, LongAdder> bookingsByStatus = new EnumMap<>(BookingStatus.class);
+    private final LongAdder approvedRevenueCents = new LongAdder();
+    private final LongAdder occupiedTonight = new LongAdder();
+    private volatile LocalDate occupiedDay;
+
+    // Changes apply under the read lock so they never block each other; seeding and correction take the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong changesSeen = new AtomicLong();
+
+    private volatile boolean seeded = false;
+    private volatile Map<String, Object> lastDriftReport;
+
+    public DashboardCounters() {
+        for (BookingStatus status : BookingStatus.values()) {
+            bookingsByStatus.put(status, new LongAdder());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            reconcile(false);
+        } catch (Exception e) {
+            System.err.println("Failed to seed dashboard counters: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "0 */10 * * * *")
+    public void reconcileScheduled() {
+        try {
+            reconcile(true);
+        } catch (Exception e) {
+            System.err.println("Dashboard counter reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public long bookings(BookingStatus status) {
+        return bookingsByStatus.get(status).sum();
+    }
+
+    public long totalBookings() {
+        long total = 0;
+        for (LongAdder count : bookingsByStatus.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public BigDecimal approvedRevenue() {
+        return BigDecimal.valueOf(approvedRevenueCents.sum(), 2);
+    }
+
+    public long occupiedBeds() {
+        return occupiedTonight.sum();
+    }
+
+    public GuestHouseRepository.CatalogTotals catalogTotals() {
+        GuestHouseRepository.CatalogTotals cached = catalogTotals;
+        if (cached == null || catalogStale || System.currentTimeMillis() - catalogLoadedAt > CATALOG_MAX_AGE_MILLIS) {
+            catalogStale = false;
+            cached = guestHouseRepository.summarizeCatalog(LocalDate.now());
+            catalogTotals = cached;
+            catalogLoadedAt = System.currentTimeMillis();
+        }
+        return cached;
+    }
+
+    public Map<String, Object> getLastDriftReport() {
+        return lastDriftReport;
+    }
+
+    // Ahead of DashboardStream, which reads these totals for the deltas it pushes
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent change) {
+        lock.readLock().lock();
+        try {
+            changesSeen.incrementAndGet();
+            catalogStale = true;
+            apply(change.getBefore(), -1);
+            apply(change.getAfter(), 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(BookingChangedEvent.Snapshot booking, int sign) {
+        if (booking == null || booking.getStatus() == null) {
+            return;
+        }
+        bookingsByStatus.get(booking.getStatus()).add(sign);
+        if (isApproved(booking.getStatus()) && booking.getTotalPrice() != null) {
+            approvedRevenueCents.add(sign * toCents(booking.getTotalPrice()));
+        }
+        LocalDate tonight = occupiedDay;
+        if (booking.isActive() && tonight != null
+                && !booking.getCheckInDate().isAfter(tonight) && booking.getCheckOutDate().isAfter(tonight)) {
+            occupiedTonight.add(sign);
+        }
+    }
+
+    // Reads the true values and overwrites the counters with them. A change landing while the database is
+    // being read would be counted twice, so in that case the correction is skipped until the next run.
+    private void reconcile(boolean reportDrift) {
+        long changesBefore = changesSeen.get();
+        LocalDate today = LocalDate.now();
+        BookingRepository.BookingTotals totals = bookingRepository.summarizeBookings();
+        long occupied = bedOccupancyRepository.countOccupiedBeds(today);
+
+        lock.writeLock().lock();
+        try {
+            if (changesSeen.get() != changesBefore) {
+                System.out.println("Dashboard counters changed during reconciliation; retrying on the next run");
+                return;
+            }
+            Map<BookingStatus, Long> actual = new EnumMap<>(BookingStatus.class);
+            actual.put(BookingStatus.PENDING, totals.getPendingBookings());
+            actual.put(BookingStatus.CONFIRMED, totals.getConfirmedBookings());
+            actual.put(BookingStatus.COMPLETED, totals.getCompletedBookings());
+            actual.put(BookingStatus.CANCELED, totals.getCanceledBookings());
+            actual.put(BookingStatus.DENIED, totals.getDeniedBookings());
+            long actualRevenueCents = toCents(totals.getApprovedRevenue());
+
+            Map<String, Object> drift = new LinkedHashMap<>();
+            for (Map.Entry<BookingStatus, Long> entry : actual.entrySet()) {
+                long difference = entry.getValue() - bookings(entry.getKey());
+                if (difference != 0) {
+                    drift.put(entry.getKey().name(), difference);
+                }
+            }
+            long revenueDifference = actualRevenueCents - approvedRevenueCents.sum();
+            if (revenueDifference != 0) {
+                drift.put("approvedRevenue", BigDecimal.valueOf(revenueDifference, 2));
+            }
+            // A new day legitimately changes tonight's occupancy, so that is not reported as drift
+            long occupiedDifference = occupied - occupiedTonight.sum();
+            if (occupiedDifference != 0 && today.equals(occupiedDay)) {
+                drift.put("occupiedBeds", occupiedDifference);
+            }
+
+            for (Map.Entry<BookingStatus, Long> entry : actual.entrySet()) {
+                set(bookingsByStatus.get(entry.getKey()), entry.getValue());
+            }
+            set(approvedRevenueCents, actualRevenueCents);
+            set(occupiedTonight, occupied);
+            occupiedDay = today;
+
+            if (reportDrift && seeded) {
+                Map<String, Object> report = new LinkedHashMap<>();
+                report.put("checkedAt", LocalDateTime.now());
+                report.put("drift", drift);
+                lastDriftReport = report;
+                if (!drift.isEmpty()) {
+                    System.err.println("Dashboard counters drifted from the database and were corrected: " + drift);
+                }
+            }
+            seeded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void set(LongAdder adder, long value) {
+        adder.reset();
+        adder.add(value);
+    }
+
+    private static boolean isApproved(BookingStatus status) {
+        return status == BookingStatus.CONFIRMED || status == BookingStatus.COMPLETED;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
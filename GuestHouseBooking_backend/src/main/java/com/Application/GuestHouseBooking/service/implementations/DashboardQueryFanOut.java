@@ -0,0 +1,130 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Runs independent dashboard queries at the same time, one virtual thread each, under a shared deadline.
+ * At most app.dashboard.max-concurrent-queries hold a connection at once, so a dashboard hit cannot drain the
+ * pool that bookings use. A query that misses the deadline is cancelled (and bounded by a JDBC query timeout
+ * in case the driver ignores the interrupt); it and failed queries are reported as stale sections and
+ * answered with their last successful result, if there was one.
+ */
+@Component
+public class DashboardQueryFanOut {
+
+    private static final String QUERY_TIMEOUT = "jakarta.persistence.query.timeout";
+
+    @Value("${app.dashboard.query-deadline-ms:2000}")
+    private long deadlineMillis;
+
+    // Keep well below the connection pool size (Hikari defaults to 10)
+    @Value("${app.dashboard.max-concurrent-queries:4}")
+    private int maxConcurrentQueries;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Object> lastGood = new ConcurrentHashMap<>();
+    private Semaphore permits;
+    private TransactionTemplate readOnly;
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(maxConcurrentQueries, true);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    public Batch begin() {
+        return new Batch(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // JDBC timeouts are whole seconds, so round up and never drop to 0 (which means no timeout)
+    private int queryTimeoutMillis() {
+        return (int) Math.max(1000, (deadlineMillis + 999) / 1000 * 1000);
+    }
+
+    public class Batch {
+        private final long deadlineNanos;
+        private final List<String> staleSections = new ArrayList<>();
+
+        private Batch(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public <T> Future<T> submit(String section, Supplier<T> query) {
+            return executor.submit(() -> {
+                permits.acquire();
+                try {
+                    // One transaction per query so the timeout applies to every statement the query runs
+                    T result = readOnly.execute(status -> {
+                        entityManager.setProperty(QUERY_TIMEOUT, queryTimeoutMillis());
+                        return query.get();
+                    });
+                    if (result != null) {
+                        lastGood.put(section, result);
+                    }
+                    return result;
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        // Waits for the query until the batch deadline; cancels it and falls back to the last good result
+        @SuppressWarnings("unchecked")
+        public <T> T await(String section, Future<T> query) {
+            try {
+                return query.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                query.cancel(true);
+                System.err.println("Dashboard query '" + section + "' missed the deadline of " + deadlineMillis + " ms");
+            } catch (ExecutionException e) {
+                System.err.println("Dashboard query '" + section + "' failed: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            staleSections.add(section);
+            return (T) lastGood.get(section);
+        }
+
+        public boolean isStale(String section) {
+            return staleSections.contains(section);
+        }
+
+        public List<String> getStaleSections() {
+            return staleSections;
+        }
+    }
+}
@@ -1,26 +1,35 @@
 package com.Application.GuestHouseBooking.service.implementations;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.Future;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.Application.GuestHouseBooking.dtos.DashboardStatsDTO;
+import com.Application.GuestHouseBooking.dtos.GuestHouseStatsDTO;
+import com.Application.GuestHouseBooking.dtos.OccupancyCalendarDTO;
+import com.Application.GuestHouseBooking.dtos.TimeSeriesDTO;
+import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
+import com.Application.GuestHouseBooking.repository.BookingDailyStatsRepository;
 import com.Application.GuestHouseBooking.repository.BookingRepository;
 import com.Application.GuestHouseBooking.repository.GuestHouseRepository;
-import com.Application.GuestHouseBooking.repository.RoomRepository;
-import com.Application.GuestHouseBooking.repository.BedRepository;
-import com.Application.GuestHouseBooking.repository.UserRepository;
 import com.Application.GuestHouseBooking.service.DashboardService;
-import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
-import com.Application.GuestHouseBooking.entity.Booking;
 
 @Service
 public class DashboardServiceImplementation implements DashboardService {
 
+    private static final int MAX_SERIES_BUCKETS = 366;
+    private static final LocalDate ALL_TIME_START = LocalDate.of(1000, 1, 1);
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -28,153 +37,335 @@ public class DashboardServiceImplementation implements DashboardService {
     private GuestHouseRepository guestHouseRepository;
 
     @Autowired
-    private RoomRepository roomRepository;
+    private OccupancyCalendarCache occupancyCalendarCache;
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private BookingDailyStatsMaintainer bookingDailyStatsMaintainer;
+
+    @Autowired
+    private BookingDailyStatsRepository bookingDailyStatsRepository;
 
     @Autowired
-    private BedRepository bedRepository;
+    private TimeSeriesCache timeSeriesCache;
 
     @Autowired
-    private UserRepository userRepository;
+    private DashboardQueryFanOut queryFanOut;
 
     @Override
     public DashboardStatsDTO getOverallStatistics() {
         DashboardStatsDTO stats = new DashboardStatsDTO();
 
-        // Update bed availability for completed bookings first
-        try {
-            // This will update beds that have completed bookings with past checkout dates
-            bedRepository.findAll().forEach(bed -> {
-                // Check if bed has any completed bookings with past checkout dates
-                List<Booking> completedBookings = bookingRepository.findByBedId(bed.getId()).stream()
-                    .filter(booking -> 
-                        booking.getStatus() == Booking.BookingStatus.COMPLETED &&
-                        booking.getCheckOutDate().isBefore(java.time.LocalDate.now())
-                    )
-                    .collect(Collectors.toList());
-                
-                if (!completedBookings.isEmpty()) {
-                    // Check if bed has any active bookings (future dates)
-                    boolean hasActiveBookings = bookingRepository.findByBedId(bed.getId()).stream()
-                        .anyMatch(booking -> 
-                            (booking.getStatus() == Booking.BookingStatus.PENDING ||
-                             booking.getStatus() == Booking.BookingStatus.CONFIRMED ||
-                             booking.getStatus() == Booking.BookingStatus.COMPLETED) &&
-                            booking.getCheckOutDate().isAfter(java.time.LocalDate.now())
-                        );
-                    
-                    if (!hasActiveBookings) {
-                        bed.markAsAvailable();
-                        bedRepository.save(bed);
-                        System.out.println("Dashboard: Bed ID " + bed.getId() + " marked as available (completed bookings)");
-                    }
-                }
-            });
-        } catch (Exception e) {
-            System.err.println("Error updating bed availability: " + e.getMessage());
-        }
-
-        // Get counts from repositories using JPQL queries
-        Long totalGuestHouses = guestHouseRepository.count();
-        Long totalRooms = roomRepository.count();
-        Long totalBeds = bedRepository.count();
-        Long occupiedBeds = bedRepository.countOccupiedBeds();
-        Long availableBeds = bedRepository.countAvailableBeds();
-        Long trulyAvailableBeds = bedRepository.countTrulyAvailableBeds();
-        Long bedsWithActiveBookings = bedRepository.countBedsWithActiveBookings();
-        Long actuallyAvailableBeds = bedRepository.countActuallyAvailableBeds();
-        Long totalUsers = userRepository.count();
-        Long totalBookings = bookingRepository.count();
-        Long pendingBookings = bookingRepository.countByStatus(BookingStatus.PENDING);
-        Long confirmedBookings = bookingRepository.countByStatus(BookingStatus.CONFIRMED);
-        Long completedBookings = bookingRepository.countByStatus(BookingStatus.COMPLETED);
-        Long canceledBookings = bookingRepository.countByStatus(BookingStatus.CANCELED);
-        Long deniedBookings = bookingRepository.countByStatus(BookingStatus.DENIED);
-        BigDecimal totalRevenue = bookingRepository.calculateTotalRevenue();
-
-        // Debug logging
-        System.out.println("=== Dashboard Statistics Debug ===");
-        System.out.println("Total Guest Houses: " + totalGuestHouses);
-        System.out.println("Total Rooms: " + totalRooms);
-        System.out.println("Total Beds: " + totalBeds);
-        System.out.println("Occupied Beds (flag-based): " + occupiedBeds);
-        System.out.println("Available Beds (flag-based): " + availableBeds);
-        System.out.println("Truly Available Beds: " + trulyAvailableBeds);
-        System.out.println("Beds with Active Bookings: " + bedsWithActiveBookings);
-        System.out.println("Actually Available Beds (most accurate): " + actuallyAvailableBeds);
-        System.out.println("Total Users: " + totalUsers);
-        System.out.println("Total Bookings: " + totalBookings);
-        System.out.println("Pending Bookings: " + pendingBookings);
-        System.out.println("Confirmed Bookings: " + confirmedBookings);
-        System.out.println("Completed Bookings: " + completedBookings);
-        System.out.println("Canceled Bookings: " + canceledBookings);
-        System.out.println("Denied Bookings: " + deniedBookings);
-        System.out.println("Total Revenue: " + totalRevenue);
-        System.out.println("==================================");
-
-        // Set the values
-        stats.setTotalGuestHouses(totalGuestHouses);
-        stats.setTotalRooms(totalRooms);
-        stats.setTotalBeds(totalBeds);
-        stats.setOccupiedBeds(occupiedBeds);
-        stats.setAvailableBeds(actuallyAvailableBeds);
-        stats.setTotalUsers(totalUsers);
-        stats.setTotalBookings(totalBookings);
-        stats.setPendingBookings(pendingBookings);
-        stats.setConfirmedBookings(confirmedBookings);
-        stats.setCompletedBookings(completedBookings);
-        stats.setCanceledBookings(canceledBookings);
-        stats.setDeniedBookings(deniedBookings);
-        
+        // The catalog and (until the counters are seeded) the booking aggregate are independent; run them together
+        DashboardQueryFanOut.Batch batch = queryFanOut.begin();
+        Future<GuestHouseRepository.CatalogTotals> catalogQuery = batch.submit("catalog", dashboardCounters::catalogTotals);
+        boolean fromCounters = dashboardCounters.isSeeded();
+        Future<BookingRepository.BookingTotals> bookingQuery =
+                fromCounters ? null : batch.submit("bookings", bookingRepository::summarizeBookings);
+
+        GuestHouseRepository.CatalogTotals catalog = batch.await("catalog", catalogQuery);
+        if (catalog != null) {
+            stats.setTotalGuestHouses(catalog.getTotalGuestHouses());
+            stats.setTotalRooms(catalog.getTotalRooms());
+            stats.setTotalBeds(catalog.getTotalBeds());
+            stats.setAvailableBeds(catalog.getAvailableBeds());
+            stats.setTotalUsers(catalog.getTotalUsers());
+        }
+
+        if (fromCounters) {
+            // Served from the live counters without touching the booking table
+            stats.setOccupiedBeds(dashboardCounters.occupiedBeds());
+            stats.setTotalBookings(dashboardCounters.totalBookings());
+            stats.setPendingBookings(dashboardCounters.bookings(BookingStatus.PENDING));
+            stats.setConfirmedBookings(dashboardCounters.bookings(BookingStatus.CONFIRMED));
+            stats.setCompletedBookings(dashboardCounters.bookings(BookingStatus.COMPLETED));
+            stats.setCanceledBookings(dashboardCounters.bookings(BookingStatus.CANCELED));
+            stats.setDeniedBookings(dashboardCounters.bookings(BookingStatus.DENIED));
+            stats.setTotalRevenue(dashboardCounters.approvedRevenue());
+        } else {
+            // Counters not seeded yet (e.g. the database was unreachable at startup): one aggregate over bookings
+            BookingRepository.BookingTotals bookings = batch.await("bookings", bookingQuery);
+            if (catalog != null) {
+                stats.setOccupiedBeds(catalog.getOccupiedBeds());
+            }
+            if (bookings != null) {
+                stats.setTotalBookings(bookings.getTotalBookings());
+                stats.setPendingBookings(bookings.getPendingBookings());
+                stats.setConfirmedBookings(bookings.getConfirmedBookings());
+                stats.setCompletedBookings(bookings.getCompletedBookings());
+                stats.setCanceledBookings(bookings.getCanceledBookings());
+                stats.setDeniedBookings(bookings.getDeniedBookings());
+                stats.setTotalRevenue(bookings.getApprovedRevenue());
+            }
+        }
+
         // Active bookings are confirmed bookings that haven't been completed yet
-        stats.setActiveBookings(confirmedBookings);
-
-        // Calculate total revenue from all completed bookings
-        stats.setTotalRevenue(bookingRepository.calculateTotalRevenue());
-        
-        // For testing: Also calculate revenue from all bookings
-        BigDecimal totalRevenueFromAllBookings = bookingRepository.calculateTotalRevenueFromAllBookings();
-        System.out.println("Revenue from completed bookings: " + stats.getTotalRevenue());
-        System.out.println("Revenue from all bookings: " + totalRevenueFromAllBookings);
-        
-        // For testing purposes, use revenue from all bookings if completed revenue is 0
-        if (stats.getTotalRevenue().equals(BigDecimal.ZERO) && totalRevenueFromAllBookings.compareTo(BigDecimal.ZERO) > 0) {
-            stats.setTotalRevenue(totalRevenueFromAllBookings);
-            System.out.println("Using revenue from all bookings for testing");
-        }
-
-        // Calculate total revenue from approved bookings (CONFIRMED and COMPLETED)
-        BigDecimal totalRevenueFromApprovedBookings = bookingRepository.calculateTotalRevenueFromApprovedBookings();
-        stats.setTotalRevenue(totalRevenueFromApprovedBookings);
-        System.out.println("Revenue from approved bookings (CONFIRMED + COMPLETED): " + totalRevenueFromApprovedBookings);
+        stats.setActiveBookings(stats.getConfirmedBookings());
 
+        stats.setStaleSections(batch.getStaleSections());
+        stats.setStale(!batch.getStaleSections().isEmpty());
         return stats;
     }
 
+    @Override
+    public Map<String, Object> getCounterDriftReport() {
+        return dashboardCounters.getLastDriftReport();
+    }
+
     @Override
     public DashboardStatsDTO getPeriodReport(LocalDate startDate, LocalDate endDate) {
+        if (!bookingDailyStatsMaintainer.isReady()) {
+            return getPeriodReportFromBookings(startDate, endDate);
+        }
+
+        // One sum over at most one rollup row per guest house per day in the range
+        BookingDailyStatsRepository.PeriodTotals totals = bookingDailyStatsRepository.sumPeriod(startDate, endDate);
         DashboardStatsDTO stats = new DashboardStatsDTO();
+        // Guests distinct over the whole range, answered from idx_booking_status_check_in_user
+        stats.setTotalGuestVisits(bookingRepository.countGuestVisits(startDate, endDate));
+        stats.setTotalCheckIns(totals.getCompletedCheckIns());
+        stats.setTotalNightsCompleted(totals.getCompletedNights());
+        setAverages(stats, totals.getCheckIns(), totals.getCompletedRevenue(), totals.getCompletedNights());
+
+        // Use approved bookings revenue for period report
+        stats.setTotalRevenue(totals.getApprovedRevenue());
 
-        // Get period-specific statistics using repository methods
-        stats.setTotalRevenue(bookingRepository.calculateTotalRevenue(startDate, endDate));
+        return stats;
+    }
+
+    // Same report straight from the booking table, used until the rollup has been built
+    private DashboardStatsDTO getPeriodReportFromBookings(LocalDate startDate, LocalDate endDate) {
+        DashboardStatsDTO stats = new DashboardStatsDTO();
+        Long totalNights = bookingRepository.calculateTotalNights(startDate, endDate);
         stats.setTotalGuestVisits(bookingRepository.countGuestVisits(startDate, endDate));
         stats.setTotalCheckIns(bookingRepository.countCheckIns(startDate, endDate));
-        stats.setTotalNightsCompleted(bookingRepository.calculateTotalNights(startDate, endDate));
-        
-        // Calculate averages
-        Long totalBookings = bookingRepository.countBookingsInPeriod(startDate, endDate);
+        stats.setTotalNightsCompleted(totalNights);
+        setAverages(stats, bookingRepository.countBookingsInPeriod(startDate, endDate),
+                bookingRepository.calculateTotalRevenue(startDate, endDate), totalNights);
+        stats.setTotalRevenue(bookingRepository.calculateTotalRevenueFromApprovedBookings(startDate, endDate));
+        return stats;
+    }
+
+    private void setAverages(DashboardStatsDTO stats, Long totalBookings, BigDecimal completedRevenue, Long totalNights) {
         if (totalBookings > 0) {
-            BigDecimal totalRev = bookingRepository.calculateTotalRevenue(startDate, endDate);
-            stats.setAverageBookingValue(totalRev.divide(BigDecimal.valueOf(totalBookings), 2, java.math.RoundingMode.HALF_UP));
-            
-            Long totalNights = bookingRepository.calculateTotalNights(startDate, endDate);
+            stats.setAverageBookingValue(completedRevenue.divide(BigDecimal.valueOf(totalBookings), 2, java.math.RoundingMode.HALF_UP));
             stats.setAverageStayDuration(totalNights / totalBookings);
         }
+    }
 
-        // Use approved bookings revenue for period report
-        BigDecimal approvedRevenue = bookingRepository.calculateTotalRevenueFromApprovedBookings(startDate, endDate);
-        stats.setTotalRevenue(approvedRevenue);
-        System.out.println("Period Revenue from approved bookings: " + approvedRevenue);
+    @Override
+    public List<GuestHouseStatsDTO> getGuestHouseStatistics(LocalDate startDate, LocalDate endDate) {
+        LocalDate from = startDate != null ? startDate : ALL_TIME_START;
+        LocalDate to = endDate != null ? endDate : BookingRepository.OPEN_ENDED;
+        if (to.isBefore(from)) {
+            throw new RuntimeException("End date must not be before start date.");
+        }
+        List<GuestHouseStatsDTO> result = new ArrayList<>();
+        for (GuestHouseRepository.GuestHouseTotals totals : guestHouseRepository.summarizeByGuestHouse(LocalDate.now(), from, to)) {
+            GuestHouseStatsDTO dto = new GuestHouseStatsDTO();
+            dto.setGuestHouseId(totals.getGuestHouseId());
+            dto.setGuestHouseName(totals.getGuestHouseName());
+            dto.setCity(totals.getCity());
+            dto.setTotalRooms(totals.getTotalRooms());
+            dto.setTotalBeds(totals.getTotalBeds());
+            dto.setOccupiedBeds(totals.getOccupiedBeds());
+            dto.setTotalBookings(totals.getTotalBookings());
+            dto.setPendingBookings(totals.getPendingBookings());
+            dto.setConfirmedBookings(totals.getConfirmedBookings());
+            dto.setCompletedBookings(totals.getCompletedBookings());
+            dto.setCanceledBookings(totals.getCanceledBookings());
+            dto.setDeniedBookings(totals.getDeniedBookings());
+            dto.setDistinctGuests(totals.getDistinctGuests());
+            dto.setApprovedRevenue(totals.getApprovedRevenue());
+            result.add(dto);
+        }
+        return result;
+    }
 
-        return stats;
+    @Override
+    public TimeSeriesDTO getTimeSeries(String granularity, LocalDate startDate, LocalDate endDate) {
+        String unit = granularity == null ? "day" : granularity.trim().toLowerCase();
+        if (!unit.equals("day") && !unit.equals("week") && !unit.equals("month")) {
+            throw new RuntimeException("Granularity must be day, week or month.");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("End date must not be before start date.");
+        }
+        if (!bookingDailyStatsMaintainer.isReady()) {
+            throw new RuntimeException("Booking statistics are still being built, please try again shortly.");
+        }
+
+        // Buckets are whole days, ISO weeks or calendar months covering the requested range
+        List<LocalDate> bucketStarts = new ArrayList<>();
+        for (LocalDate start = bucketStart(unit, startDate); !start.isAfter(endDate); start = nextBucket(unit, start)) {
+            bucketStarts.add(start);
+            if (bucketStarts.size() > MAX_SERIES_BUCKETS) {
+                throw new RuntimeException("A series can have at most " + MAX_SERIES_BUCKETS + " buckets.");
+            }
+        }
+
+        // Closed buckets come from the cache; the open one and any cache misses are summed in one grouped query
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, TimeSeriesCache.Bucket> buckets = new HashMap<>();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (LocalDate start : bucketStarts) {
+            TimeSeriesCache.Bucket cached = isClosed(unit, start, today) ? timeSeriesCache.get(unit, start) : null;
+            if (cached != null) {
+                buckets.put(start, cached);
+            } else {
+                firstMissing = firstMissing == null ? start : firstMissing;
+                lastMissing = start;
+            }
+        }
+        if (firstMissing != null) {
+            long generation = timeSeriesCache.generation();
+            Map<LocalDate, TimeSeriesCache.Bucket> computed = new HashMap<>();
+            for (BookingDailyStatsRepository.DayTotals day :
+                    bookingDailyStatsRepository.sumByDay(firstMissing, nextBucket(unit, lastMissing).minusDays(1))) {
+                LocalDate start = bucketStart(unit, day.getStatDate());
+                if (!buckets.containsKey(start)) {
+                    computed.merge(start, new TimeSeriesCache.Bucket(day.getCheckIns(), day.getApprovedRevenue(), day.getOccupiedNights()),
+                            (a, b) -> new TimeSeriesCache.Bucket(a.getBookings() + b.getBookings(),
+                                    a.getRevenue().add(b.getRevenue()), a.getOccupiedNights() + b.getOccupiedNights()));
+                }
+            }
+            for (LocalDate start : bucketStarts) {
+                if (buckets.containsKey(start)) {
+                    continue;
+                }
+                TimeSeriesCache.Bucket bucket = computed.getOrDefault(start, new TimeSeriesCache.Bucket(0, BigDecimal.ZERO, 0));
+                buckets.put(start, bucket);
+                if (isClosed(unit, start, today)) {
+                    timeSeriesCache.put(unit, start, bucket, generation);
+                }
+            }
+        }
+
+        Long totalBeds = dashboardCounters.catalogTotals().getTotalBeds();
+        TimeSeriesDTO series = new TimeSeriesDTO();
+        series.setGranularity(unit);
+        series.setStartDate(bucketStarts.get(0));
+        series.setEndDate(nextBucket(unit, bucketStarts.get(bucketStarts.size() - 1)).minusDays(1));
+        series.setTotalBeds(totalBeds);
+        for (LocalDate start : bucketStarts) {
+            TimeSeriesCache.Bucket bucket = buckets.get(start);
+            LocalDate next = nextBucket(unit, start);
+            TimeSeriesDTO.Point point = new TimeSeriesDTO.Point();
+            point.setBucketStart(start);
+            point.setBucketEnd(next.minusDays(1));
+            point.setBookings(bucket.getBookings());
+            point.setRevenue(bucket.getRevenue());
+            point.setOccupiedNights(bucket.getOccupiedNights());
+            long bedNights = (totalBeds == null ? 0 : totalBeds) * ChronoUnit.DAYS.between(start, next);
+            point.setOccupancyRate(bedNights == 0 ? 0.0 : Math.round(bucket.getOccupiedNights() * 10000.0 / bedNights) / 100.0);
+            point.setClosed(isClosed(unit, start, today));
+            series.getPoints().add(point);
+        }
+        return series;
+    }
+
+    private static LocalDate bucketStart(String unit, LocalDate date) {
+        switch (unit) {
+            case "week":
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case "month":
+                return date.withDayOfMonth(1);
+            default:
+                return date;
+        }
+    }
+
+    private static LocalDate nextBucket(String unit, LocalDate bucketStart) {
+        switch (unit) {
+            case "week":
+                return bucketStart.plusWeeks(1);
+            case "month":
+                return bucketStart.plusMonths(1);
+            default:
+                return bucketStart.plusDays(1);
+        }
+    }
+
+    // A bucket is closed once its last day is over
+    private static boolean isClosed(String unit, LocalDate bucketStart, LocalDate today) {
+        return !nextBucket(unit, bucketStart).isAfter(today);
+    }
+
+    @Override
+    public List<OccupancyCalendarDTO> getOccupancyCalendar(Long guestHouseId, LocalDate startDate, int days) {
+        if (days < 1 || days > 366) {
+            throw new RuntimeException("Calendar length must be between 1 and 366 days.");
+        }
+        List<GuestHouseRepository.GuestHouseBedCount> bedCounts = guestHouseRepository.countBedsByGuestHouse(guestHouseId);
+
+        Map<Long, int[]> occupiedByGuestHouse = new HashMap<>();
+        for (GuestHouseRepository.GuestHouseBedCount bedCount : bedCounts) {
+            int[] cached = occupancyCalendarCache.get(bedCount.getGuestHouseId(), startDate, days);
+            if (cached == null) {
+                occupiedByGuestHouse = null;
+                break;
+            }
+            occupiedByGuestHouse.put(bedCount.getGuestHouseId(), cached);
+        }
+
+        if (occupiedByGuestHouse == null) {
+            long generation = occupancyCalendarCache.generation();
+            occupiedByGuestHouse = sweepOccupancy(guestHouseId, bedCounts, startDate, days);
+            occupiedByGuestHouse.forEach((id, occupied) -> occupancyCalendarCache.put(id, startDate, occupied, generation));
+        }
+
+        List<OccupancyCalendarDTO> calendars = new ArrayList<>();
+        for (GuestHouseRepository.GuestHouseBedCount bedCount : bedCounts) {
+            OccupancyCalendarDTO calendar = new OccupancyCalendarDTO();
+            calendar.setGuestHouseId(bedCount.getGuestHouseId());
+            calendar.setGuestHouseName(bedCount.getGuestHouseName());
+            calendar.setTotalBeds(bedCount.getTotalBeds());
+            int[] occupied = occupiedByGuestHouse.get(bedCount.getGuestHouseId());
+            for (int day = 0; day < days; day++) {
+                OccupancyCalendarDTO.Day entry = new OccupancyCalendarDTO.Day();
+                entry.setDate(startDate.plusDays(day));
+                entry.setOccupiedBeds(occupied[day]);
+                entry.setFreeBeds(Math.max(0, bedCount.getTotalBeds() - occupied[day]));
+                calendar.getDays().add(entry);
+            }
+            calendars.add(calendar);
+        }
+        return calendars;
+    }
+
+    // One query for the window, then a sweep over check-in (+1) and check-out (-1) events per guest house
+    private Map<Long, int[]> sweepOccupancy(Long guestHouseId, List<GuestHouseRepository.GuestHouseBedCount> bedCounts,
+                                            LocalDate startDate, int days) {
+        Map<Long, int[]> events = new HashMap<>();
+        for (GuestHouseRepository.GuestHouseBedCount bedCount : bedCounts) {
+            events.put(bedCount.getGuestHouseId(), new int[days + 1]);
+        }
+
+        for (BookingRepository.GuestHouseStay stay : bookingRepository.findActiveStaysOverlapping(
+                guestHouseId, startDate, startDate.plusDays(days))) {
+            int[] guestHouseEvents = events.get(stay.getGuestHouseId());
+            if (guestHouseEvents == null) {
+                continue;
+            }
+            int from = (int) Math.max(0, ChronoUnit.DAYS.between(startDate, stay.getCheckInDate()));
+            int to = (int) Math.min(days, ChronoUnit.DAYS.between(startDate, stay.getCheckOutDate()));
+            guestHouseEvents[from]++;
+            guestHouseEvents[to]--;
+        }
+
+        Map<Long, int[]> occupiedByGuestHouse = new HashMap<>();
+        events.forEach((id, guestHouseEvents) -> {
+            int[] occupied = new int[days];
+            int running = 0;
+            for (int day = 0; day < days; day++) {
+                running += guestHouseEvents[day];
+                occupied[day] = running;
+            }
+            occupiedByGuestHouse.put(id, occupied);
+        });
+        return occupiedByGuestHouse;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,263 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
+import com.Application.GuestHouseBooking.events.BookingChangedEvent;
+import com.Application.GuestHouseBooking.service.DashboardService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes dashboard statistics to admin tabs over Server-Sent Events. A new subscriber gets a "snapshot" event
+ * with the full statistics, then one "delta" event per booking change carrying what moved and the totals after
+ * it, computed once for all subscribers. Changes that arrive while a delta is being built are merged into the
+ * next one, and nothing is computed while nobody is subscribed. Recent deltas are kept so a client reconnecting
+ * with Last-Event-ID only receives what it missed; if it has fallen too far behind, or the id comes from before
+ * a server restart, it gets a fresh snapshot instead.
+ * Everything that touches the subscriber list or the replay buffer runs on one thread, in order.
+ */
+@Component
+public class DashboardStream {
+
+    private static final int REPLAY_SIZE = 200;
+    private static final long EMITTER_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
+    @Value("${app.dashboard.stream.max-subscribers:50}")
+    private int maxSubscribers;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    // Event ids are "<epoch>-<sequence>"; the sequence restarts with the server, so ids from another epoch never replay
+    private final long epoch = System.currentTimeMillis();
+
+    // Only touched on the sender thread
+    private final Deque<Delta> recent = new ArrayDeque<>();
+    private long lastEventId = 0;
+    private final List<Long> pendingBookingIds = new ArrayList<>();
+    private final Map<String, Object> pendingChanges = new LinkedHashMap<>();
+
+    // Returns null when the subscriber limit has been reached
+    public SseEmitter subscribe(String lastEventIdHeader) {
+        if (reserved.incrementAndGet() > maxSubscribers) {
+            reserved.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        Runnable release = () -> {
+            if (subscribers.remove(emitter)) {
+                reserved.decrementAndGet();
+            }
+        };
+        emitter.onCompletion(release);
+        emitter.onTimeout(release);
+        emitter.onError(error -> release.run());
+        Long resumeAfter = parseEventId(lastEventIdHeader);
+        sender.execute(() -> open(emitter, resumeAfter));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Runs after DashboardCounters has applied the same change, so the totals read for the delta include it
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent change) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        count(changes, change.getBefore(), -1);
+        count(changes, change.getAfter(), 1);
+        sender.execute(() -> queue(change.getBookingId(), changes));
+    }
+
+    // Comment lines keep proxies from closing idle connections and reveal dead clients
+    @Scheduled(fixedRate = 20_000)
+    public void heartbeat() {
+        sender.execute(() -> {
+            for (SseEmitter emitter : subscribers) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    drop(emitter, e);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    private void open(SseEmitter emitter, Long resumeAfter) {
+        try {
+            Delta oldest = recent.peekFirst();
+            boolean canReplay = resumeAfter != null && resumeAfter <= lastEventId
+                    && (oldest == null ? resumeAfter == lastEventId : oldest.id <= resumeAfter + 1);
+            if (canReplay) {
+                for (Delta delta : recent) {
+                    if (delta.id > resumeAfter) {
+                        emitter.send(delta.toEvent());
+                    }
+                }
+            } else {
+                emitter.send(SseEmitter.event()
+                        .id(eventId(lastEventId))
+                        .name("snapshot")
+                        .data(dashboardService.getOverallStatistics()));
+            }
+            subscribers.add(emitter);
+        } catch (Exception e) {
+            reserved.decrementAndGet();
+            emitter.completeWithError(e);
+        }
+    }
+
+    // The first change of a burst schedules the publish; everything queued on the sender before it runs joins it
+    private void queue(Long bookingId, Map<String, Object> changes) {
+        if (pendingBookingIds.isEmpty()) {
+            sender.execute(this::publish);
+        }
+        pendingBookingIds.add(bookingId);
+        changes.forEach((field, value) -> pendingChanges.merge(field, value, DashboardStream::add));
+    }
+
+    private void publish() {
+        List<Long> bookingIds = new ArrayList<>(pendingBookingIds);
+        Map<String, Object> changes = new LinkedHashMap<>(pendingChanges);
+        pendingBookingIds.clear();
+        pendingChanges.clear();
+        if (subscribers.isEmpty()) {
+            // Nobody to tell; move the id on and forget the buffer so a reconnecting client gets a snapshot
+            lastEventId++;
+            recent.clear();
+            return;
+        }
+        changes.values().removeIf(value -> value instanceof Long && (Long) value == 0
+                || value instanceof BigDecimal && ((BigDecimal) value).signum() == 0);
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingIds", bookingIds);
+        payload.put("changes", changes);
+        try {
+            payload.put("totals", dashboardService.getOverallStatistics());
+        } catch (Exception e) {
+            System.err.println("Dashboard stream could not read totals: " + e.getMessage());
+        }
+        Delta delta = new Delta(++lastEventId, eventId(lastEventId), payload);
+        recent.addLast(delta);
+        if (recent.size() > REPLAY_SIZE) {
+            recent.removeFirst();
+        }
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(delta.toEvent());
+            } catch (IOException | IllegalStateException e) {
+                drop(emitter, e);
+            }
+        }
+    }
+
+    private void drop(SseEmitter emitter, Exception cause) {
+        if (subscribers.remove(emitter)) {
+            reserved.decrementAndGet();
+        }
+        emitter.completeWithError(cause);
+    }
+
+    // Moves the same fields DashboardStatsDTO reports, so clients can apply changes to the snapshot by name
+    private void count(Map<String, Object> changes, BookingChangedEvent.Snapshot booking, long sign) {
+        if (booking == null || booking.getStatus() == null) {
+            return;
+        }
+        changes.merge("totalBookings", sign, (a, b) -> (Long) a + (Long) b);
+        changes.merge(booking.getStatus().name().toLowerCase() + "Bookings", sign, (a, b) -> (Long) a + (Long) b);
+        if (booking.getStatus() == BookingStatus.CONFIRMED) {
+            changes.merge("activeBookings", sign, (a, b) -> (Long) a + (Long) b);
+        }
+        boolean approved = booking.getStatus() == BookingStatus.CONFIRMED || booking.getStatus() == BookingStatus.COMPLETED;
+        if (approved && booking.getTotalPrice() != null) {
+            BigDecimal amount = sign < 0 ? booking.getTotalPrice().negate() : booking.getTotalPrice();
+            changes.merge("totalRevenue", amount, (a, b) -> ((BigDecimal) a).add((BigDecimal) b));
+        }
+        LocalDate today = LocalDate.now();
+        if (booking.isActive() && !booking.getCheckInDate().isAfter(today) && booking.getCheckOutDate().isAfter(today)) {
+            changes.merge("occupiedBeds", sign, (a, b) -> (Long) a + (Long) b);
+        }
+    }
+
+    private static Object add(Object a, Object b) {
+        if (a instanceof BigDecimal) {
+            return ((BigDecimal) a).add((BigDecimal) b);
+        }
+        return (Long) a + (Long) b;
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // Returns null for a missing or malformed id, or one issued before the last restart
+    private Long parseEventId(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        String[] parts = header.trim().split("-", 2);
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            return Long.parseLong(parts[0]) == epoch ? Long.parseLong(parts[1]) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class Delta {
+        private final long id;
+        private final String eventId;
+        private final Map<String, Object> payload;
+
+        private Delta(long id, String eventId, Map<String, Object> payload) {
+            this.id = id;
+            this.eventId = eventId;
+            this.payload = payload;
+        }
+
+        private SseEmitter.SseEventBuilder toEvent() {
+            return SseEmitter.event().id(eventId).name("delta").data(payload);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.Application.GuestHouseBooking.dtos.DiagnosticsSnapshotDTO;
+import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
+import com.Application.GuestHouseBooking.repository.BedRepository;
+import com.Application.GuestHouseBooking.repository.BookingRepository;
+import com.Application.GuestHouseBooking.repository.GuestHouseRepository;
+
+/**
+ * Database diagnostics for the dashboard debug endpoints, computed with a fixed number of aggregate and
+ * LIMIT queries however large the tables are: catalog totals, per-status totals, the first row of three
+ * tables, and per-bed detail for a bounded sample of beds. Snapshots are reused for a few seconds.
+ */
+@Service
+public class DiagnosticsSnapshotService {
+
+    public static final int DEFAULT_SAMPLE = 20;
+    public static final int MAX_SAMPLE = 200;
+    private static final long MAX_AGE_SECONDS = 30;
+
+    @Autowired
+    private GuestHouseRepository guestHouseRepository;
+
+    @Autowired
+    private BedRepository bedRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    // Keyed by sample size, which is clamped, so at most MAX_SAMPLE entries
+    private final Map<Integer, DiagnosticsSnapshotDTO> snapshots = new ConcurrentHashMap<>();
+
+    public DiagnosticsSnapshotDTO getSnapshot(int sampleSize) {
+        int sample = Math.max(0, Math.min(sampleSize, MAX_SAMPLE));
+        DiagnosticsSnapshotDTO cached = snapshots.get(sample);
+        if (cached != null && cached.getGeneratedAt().plusSeconds(MAX_AGE_SECONDS).isAfter(LocalDateTime.now())) {
+            return cached;
+        }
+        DiagnosticsSnapshotDTO snapshot = build(sample);
+        snapshots.put(sample, snapshot);
+        return snapshot;
+    }
+
+    private DiagnosticsSnapshotDTO build(int sample) {
+        LocalDate today = LocalDate.now();
+        DiagnosticsSnapshotDTO snapshot = new DiagnosticsSnapshotDTO();
+        snapshot.setGeneratedAt(LocalDateTime.now());
+
+        GuestHouseRepository.CatalogTotals catalog = guestHouseRepository.summarizeCatalog(today);
+        snapshot.setTotalGuestHouses(catalog.getTotalGuestHouses());
+        snapshot.setTotalRooms(catalog.getTotalRooms());
+        snapshot.setTotalBeds(catalog.getTotalBeds());
+        snapshot.setTotalUsers(catalog.getTotalUsers());
+        snapshot.setOccupiedBeds(catalog.getOccupiedBeds());
+        snapshot.setAvailableBeds(catalog.getAvailableBeds());
+
+        // Every status is listed, with zero for statuses that have no bookings
+        Map<BookingStatus, BookingRepository.StatusTotals> byStatus = bookingRepository.summarizeByStatus().stream()
+                .collect(Collectors.toMap(BookingRepository.StatusTotals::getStatus, totals -> totals));
+        long totalBookings = 0;
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        for (BookingStatus status : BookingStatus.values()) {
+            BookingRepository.StatusTotals totals = byStatus.get(status);
+            long bookings = totals == null ? 0 : totals.getBookings();
+            BigDecimal revenue = totals == null ? BigDecimal.ZERO : totals.getRevenue();
+            snapshot.getBookingsByStatus().put(status.name(), bookings);
+            snapshot.getRevenueByStatus().put(status.name(), revenue);
+            totalBookings += bookings;
+            totalRevenue = totalRevenue.add(revenue);
+        }
+        snapshot.setTotalBookings(totalBookings);
+        snapshot.setTotalRevenue(totalRevenue);
+
+        guestHouseRepository.findFirstByOrderByIdAsc().ifPresent(guestHouse -> snapshot.setFirstGuestHouseName(guestHouse.getName()));
+        bedRepository.findFirstByOrderByIdAsc().ifPresent(bed -> {
+            snapshot.setFirstBedNumber(bed.getBedNumber());
+            snapshot.setFirstBedAvailableForBooking(bed.getIsAvailableForBooking());
+        });
+        bookingRepository.findFirstByOrderByIdAsc().ifPresent(booking -> {
+            snapshot.setFirstBookingStatus(booking.getStatus().name());
+            snapshot.setFirstBookingTotalPrice(booking.getTotalPrice());
+        });
+
+        snapshot.setBedSampleSize(sample);
+        if (sample > 0) {
+            Map<Long, DiagnosticsSnapshotDTO.BedDetail> beds = new LinkedHashMap<>();
+            for (BedRepository.BedSample bed : bedRepository.sampleBeds(PageRequest.of(0, sample))) {
+                DiagnosticsSnapshotDTO.BedDetail detail = new DiagnosticsSnapshotDTO.BedDetail();
+                detail.setId(bed.getId());
+                detail.setBedNumber(bed.getBedNumber());
+                detail.setRoomId(bed.getRoomId());
+                detail.setIsAvailable(bed.getIsAvailable());
+                detail.setIsAvailableForBooking(bed.getIsAvailableForBooking());
+                detail.setPricePerNight(bed.getPricePerNight());
+                beds.put(bed.getId(), detail);
+            }
+            if (!beds.isEmpty()) {
+                List<BookingRepository.ActiveBookingRow> active = bookingRepository.findActiveByBedIds(beds.keySet(), today);
+                for (BookingRepository.ActiveBookingRow row : active) {
+                    DiagnosticsSnapshotDTO.ActiveBooking booking = new DiagnosticsSnapshotDTO.ActiveBooking();
+                    booking.setId(row.getId());
+                    booking.setStatus(row.getStatus().name());
+                    booking.setCheckInDate(row.getCheckInDate());
+                    booking.setCheckOutDate(row.getCheckOutDate());
+                    beds.get(row.getBedId()).getActiveBookings().add(booking);
+                }
+            }
+            snapshot.getBedSample().addAll(beds.values());
+        }
+        return snapshot;
+    }
+}
@@ -1,28 +1,24 @@
 package com.Application.GuestHouseBooking.service.implementations;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
-import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.Application.GuestHouseBooking.dtos.GuestHouseDTO;
+import com.Application.GuestHouseBooking.dtos.PageResponseDTO;
 import com.Application.GuestHouseBooking.entity.GuestHouse;
-import com.Application.GuestHouseBooking.entity.Room;
-import com.Application.GuestHouseBooking.entity.Bed;
-import com.Application.GuestHouseBooking.entity.Booking;
 import com.Application.GuestHouseBooking.repository.GuestHouseRepository;
-import com.Application.GuestHouseBooking.repository.BookingRepository;
 import com.Application.GuestHouseBooking.service.GuestHouseServices;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
-import java.time.LocalDate;
-
 @Service
 @Transactional
 public class GuestHouseImplementations implements GuestHouseServices {
@@ -37,17 +33,39 @@ public class GuestHouseImplementations implements GuestHouseServices {
     private ObjectMapper objectMapper; // Inject ObjectMapper for JSON conversion
 
     @Autowired
-    private BookingRepository bookingRepository;
+    private AvailabilityCache availabilityCache;
 
-    @PersistenceContext
-    private EntityManager entityManager;
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private KeysetPaging keysetPaging;
 
     private GuestHouseDTO convertToDTO(GuestHouse guestHouse) {
-        // Ensure the entity is attached to the persistence context
-        if (!entityManager.contains(guestHouse)) {
-            guestHouse = entityManager.merge(guestHouse);
+        return convertToDTOs(List.of(guestHouse)).get(0);
+    }
+
+    // Room and bed counts for all the given guest houses come from one aggregate query
+    private List<GuestHouseDTO> convertToDTOs(List<GuestHouse> guestHouses) {
+        if (guestHouses.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, GuestHouseRepository.GuestHouseCounts> countsById = new HashMap<>();
+        try {
+            List<Long> ids = guestHouses.stream().map(GuestHouse::getId).collect(Collectors.toList());
+            for (GuestHouseRepository.GuestHouseCounts counts : guestHouseRepository.countRoomsAndBeds(ids, LocalDate.now())) {
+                countsById.put(counts.getGuestHouseId(), counts);
+            }
+        } catch (Exception e) {
+            // Log error but don't fail the entire operation
+            System.err.println("Error calculating room/bed counts: " + e.getMessage());
         }
+        return guestHouses.stream()
+                .map(guestHouse -> convertToDTO(guestHouse, countsById.get(guestHouse.getId())))
+                .collect(Collectors.toList());
+    }
 
+    private GuestHouseDTO convertToDTO(GuestHouse guestHouse, GuestHouseRepository.GuestHouseCounts counts) {
         GuestHouseDTO dto = new GuestHouseDTO();
         dto.setId(guestHouse.getId());
         dto.setName(guestHouse.getName());
@@ -60,68 +78,16 @@ public class GuestHouseImplementations implements GuestHouseServices {
         dto.setContactNumber(guestHouse.getContactNumber());
         dto.setEmail(guestHouse.getEmail());
         dto.setImageUrl(guestHouse.getImageUrl());
-        
-        // Debug logging for image URL
-        System.out.println("=== Guest House Image Debug ===");
-        System.out.println("Guest House: " + guestHouse.getName());
-        System.out.println("Image URL from entity: " + guestHouse.getImageUrl());
-        System.out.println("Image URL set in DTO: " + dto.getImageUrl());
-        System.out.println("=================================");
-        
         dto.setCreatedAt(guestHouse.getCreatedAt());
         dto.setUpdatedAt(guestHouse.getUpdatedAt());
         dto.setCreatedBy(guestHouse.getCreatedBy());
         dto.setLastModifiedBy(guestHouse.getLastModifiedBy());
 
-        try {
-            // Initialize collections within transaction
-            Hibernate.initialize(guestHouse.getRooms());
-            dto.setTotalRooms(guestHouse.getRooms().size());
-
-            int totalBeds = 0;
-            int availableBeds = 0;
-
-            System.out.println("=== Calculating beds for Guest House: " + guestHouse.getName() + " ===");
-
-            for (Room room : guestHouse.getRooms()) {
-                Hibernate.initialize(room.getBeds());
-                totalBeds += room.getBeds().size();
-                
-                System.out.println("Room " + room.getRoomNumber() + " has " + room.getBeds().size() + " beds");
-                
-                for (Bed bed : room.getBeds()) {
-                    // Check if bed is available for booking
-                    if (bed.getIsAvailableForBooking()) {
-                        // Check if bed has any active bookings (PENDING, CONFIRMED, COMPLETED with future checkout)
-                        boolean hasActiveBookings = bookingRepository.findByBedId(bed.getId()).stream()
-                            .anyMatch(booking -> 
-                                (booking.getStatus() == Booking.BookingStatus.PENDING ||
-                                 booking.getStatus() == Booking.BookingStatus.CONFIRMED ||
-                                 booking.getStatus() == Booking.BookingStatus.COMPLETED) &&
-                                booking.getCheckOutDate().isAfter(LocalDate.now())
-                            );
-                        
-                        // Bed is available if it has no active bookings
-                        if (!hasActiveBookings) {
-                            availableBeds++;
-                            System.out.println("  - Bed " + bed.getBedNumber() + " is AVAILABLE (no active bookings)");
-                        } else {
-                            System.out.println("  - Bed " + bed.getBedNumber() + " is NOT AVAILABLE (has active bookings)");
-                        }
-                    } else {
-                        System.out.println("  - Bed " + bed.getBedNumber() + " is NOT AVAILABLE (flag is false)");
-                    }
-                }
-            }
-
-            System.out.println("Total Beds: " + totalBeds + ", Available Beds: " + availableBeds);
-            System.out.println("================================================");
-
-            dto.setTotalBeds(totalBeds);
-            dto.setAvailableBeds(availableBeds);
-        } catch (Exception e) {
-            // Log error but don't fail the entire operation
-            System.err.println("Error calculating room/bed counts: " + e.getMessage());
+        if (counts != null) {
+            dto.setTotalRooms(counts.getTotalRooms().intValue());
+            dto.setTotalBeds(counts.getTotalBeds().intValue());
+            dto.setAvailableBeds(counts.getAvailableBeds().intValue());
+        } else {
             dto.setTotalRooms(0);
             dto.setTotalBeds(0);
             dto.setAvailableBeds(0);
@@ -179,9 +145,7 @@ public class GuestHouseImplementations implements GuestHouseServices {
     public List<GuestHouseDTO> getAllGuestHouses() {
         try {
             List<GuestHouse> guestHouses = guestHouseRepository.findAll();
-            return guestHouses.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            return convertToDTOs(guestHouses);
         } catch (Exception e) {
             System.err.println("Error retrieving guest houses from database: " + e.getMessage());
             e.printStackTrace();
@@ -189,14 +153,22 @@ public class GuestHouseImplementations implements GuestHouseServices {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDTO<GuestHouseDTO> getGuestHousesPage(String cursor, Integer size) {
+        KeysetPaging.Position after = keysetPaging.decode(cursor);
+        return keysetPaging.toPage(
+                guestHouseRepository.findPageAfter(after.getCreatedAt(), after.getId(), keysetPaging.pageable(size)),
+                GuestHouse::getCreatedAt, GuestHouse::getId, this::convertToDTOs);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<GuestHouseDTO> getAllGuestHousesWithRooms() {
         try {
-            List<GuestHouse> guestHouses = guestHouseRepository.findAllWithRooms();
-            return guestHouses.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            // The DTO only carries room and bed counts, which come from the aggregate query; no collections are loaded
+            List<GuestHouse> guestHouses = guestHouseRepository.findAll();
+            return convertToDTOs(guestHouses);
         } catch (Exception e) {
             System.err.println("Error retrieving guest houses with rooms from database: " + e.getMessage());
             e.printStackTrace();
@@ -208,10 +180,8 @@ public class GuestHouseImplementations implements GuestHouseServices {
     @Transactional(readOnly = true)
     public List<GuestHouseDTO> getAllGuestHousesWithAvailableBeds() {
         try {
-            List<GuestHouse> guestHouses = guestHouseRepository.findAllWithAvailableBeds();
-            return guestHouses.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            List<GuestHouse> guestHouses = guestHouseRepository.findAll();
+            return convertToDTOs(guestHouses);
         } catch (Exception e) {
             System.err.println("Error retrieving guest houses with available beds from database: " + e.getMessage());
             e.printStackTrace();
@@ -238,6 +208,8 @@ public class GuestHouseImplementations implements GuestHouseServices {
             // ... set other fields ...
 
             GuestHouse updatedGuestHouse = guestHouseRepository.save(existingGuestHouse);
+            availabilityCache.invalidateAll(); // The city may have changed
+            catalogCache.evictGuestHouse(id);
 
             // --- Audit Log: UPDATE ---
             try {
@@ -273,6 +245,8 @@ public class GuestHouseImplementations implements GuestHouseServices {
             }
 
             guestHouseRepository.deleteById(id);
+            availabilityCache.invalidateAll();
+            catalogCache.evictAll();
 
             // --- Audit Log: DELETE ---
             auditLogService.logAudit(
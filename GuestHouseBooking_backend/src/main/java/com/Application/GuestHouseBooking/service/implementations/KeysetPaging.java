@@ -0,0 +1,92 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.Application.GuestHouseBooking.dtos.PageResponseDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Keyset pagination on (createdAt, id). A page is "the next N rows after this key" in index order, so every
+ * page costs one range scan of N rows no matter how deep it is. The cursor handed to clients is the last
+ * key of the previous page, Base64-encoded so they treat it as opaque.
+ */
+@Component
+public class KeysetPaging {
+
+    // Sorts before every real row, so the first page uses the same query as the others
+    private static final Position START = new Position(LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+
+    @Value("${app.pagination.default-size:50}")
+    private int defaultSize;
+
+    @Value("${app.pagination.max-size:200}")
+    private int maxSize;
+
+    public Pageable pageable(Integer requestedSize) {
+        int size = requestedSize == null ? defaultSize : requestedSize;
+        if (size < 1 || size > maxSize) {
+            throw new RuntimeException("Page size must be between 1 and " + maxSize + ".");
+        }
+        return PageRequest.of(0, size);
+    }
+
+    public Position decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.lastIndexOf('|');
+            return new Position(LocalDateTime.parse(key.substring(0, separator)), Long.parseLong(key.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid page cursor.");
+        }
+    }
+
+    public <E, T> PageResponseDTO<T> toPage(Slice<E> slice, Function<E, LocalDateTime> createdAt, Function<E, Long> id,
+                                            Function<List<E>, List<T>> convert) {
+        PageResponseDTO<T> page = new PageResponseDTO<>();
+        List<E> rows = slice.getContent();
+        page.setItems(convert.apply(rows));
+        page.setSize(rows.size());
+        page.setHasNext(slice.hasNext());
+        if (slice.hasNext() && !rows.isEmpty()) {
+            E last = rows.get(rows.size() - 1);
+            page.setNextCursor(encode(createdAt.apply(last), id.apply(last)));
+        }
+        return page;
+    }
+
+    // The unpaginated form (?all=true) is reserved for admins
+    public boolean callerIsAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    private static String encode(LocalDateTime createdAt, Long id) {
+        String key = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Position {
+        private final LocalDateTime createdAt;
+        private final Long id;
+    }
+}
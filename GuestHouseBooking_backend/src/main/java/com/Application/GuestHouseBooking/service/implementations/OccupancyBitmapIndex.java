@@ -0,0 +1,240 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.Application.GuestHouseBooking.entity.Booking.BookingStatus;
+import com.Application.GuestHouseBooking.events.BookingChangedEvent;
+import com.Application.GuestHouseBooking.repository.BookingRepository;
+
+/**
+ * Per-bed occupancy bitmaps over a rolling horizon starting today: one bit per night, set when an
+ * active booking holds the bed that night. A range check is an OR over at most a few words per bed.
+ */
+@Component
+public class OccupancyBitmapIndex {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${app.availability.horizon-days:400}")
+    private int horizonDays;
+
+    private final Object lock = new Object();
+
+    // Bookings per bed, kept so a bed's bitmap can be recomputed when one of its bookings changes
+    private Map<Long, Map<Long, Stay>> staysByBed = new HashMap<>();
+    private Map<Long, Long> bedByBooking = new HashMap<>();
+    private List<BookingChangedEvent> pendingChanges;
+
+    private volatile Horizon horizon;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        synchronized (lock) {
+            pendingChanges = new ArrayList<>();
+        }
+
+        List<BookingRepository.BookingInterval> intervals;
+        try {
+            intervals = bookingRepository.findIntervalsByStatusIn(BookingStatus.activeStatuses());
+        } catch (Exception e) {
+            synchronized (lock) {
+                pendingChanges = null;
+            }
+            System.err.println("Failed to load occupancy bitmaps: " + e.getMessage());
+            return;
+        }
+
+        synchronized (lock) {
+            staysByBed = new HashMap<>();
+            bedByBooking = new HashMap<>();
+            for (BookingRepository.BookingInterval interval : intervals) {
+                putStay(interval.getId(), new Stay(interval.getBedId(), interval.getCheckInDate(), interval.getCheckOutDate()));
+            }
+            for (BookingChangedEvent change : pendingChanges) {
+                applyToStays(change);
+            }
+            pendingChanges = null;
+            horizon = buildHorizon(LocalDate.now());
+        }
+        System.out.println("Occupancy bitmaps built for " + staysByBed.size() + " beds over " + horizonDays + " days");
+    }
+
+    // Move the horizon forward once a day so it always starts today
+    @Scheduled(cron = "0 5 0 * * *")
+    public void rollHorizon() {
+        synchronized (lock) {
+            if (horizon != null) {
+                horizon = buildHorizon(LocalDate.now());
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return horizon != null;
+    }
+
+    // Whether [checkIn, checkOut) lies inside the horizon, so isFree can answer it
+    public boolean covers(LocalDate checkIn, LocalDate checkOut) {
+        Horizon current = horizon;
+        return current != null
+                && !checkIn.isBefore(current.start)
+                && current.dayIndex(checkOut) <= current.days;
+    }
+
+    // True when the bed is unoccupied on every night of [checkIn, checkOut); the range must be covered
+    public boolean isFree(Long bedId, LocalDate checkIn, LocalDate checkOut) {
+        Horizon current = horizon;
+        long[] bits = current.bitmaps.get(bedId);
+        return bits == null || !anySet(bits, current.dayIndex(checkIn), current.dayIndex(checkOut));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent change) {
+        synchronized (lock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            Long previousBed = bedByBooking.get(change.getBookingId());
+            applyToStays(change);
+            if (horizon != null) {
+                if (previousBed != null) {
+                    refreshBed(horizon, previousBed);
+                }
+                if (change.getAfter() != null && !change.getAfter().getBedId().equals(previousBed)) {
+                    refreshBed(horizon, change.getAfter().getBedId());
+                }
+            }
+        }
+    }
+
+    private void applyToStays(BookingChangedEvent change) {
+        Long previousBed = bedByBooking.remove(change.getBookingId());
+        if (previousBed != null) {
+            Map<Long, Stay> bedStays = staysByBed.get(previousBed);
+            bedStays.remove(change.getBookingId());
+            if (bedStays.isEmpty()) {
+                staysByBed.remove(previousBed);
+            }
+        }
+        BookingChangedEvent.Snapshot after = change.getAfter();
+        if (after != null && after.isActive()) {
+            putStay(change.getBookingId(), new Stay(after.getBedId(), after.getCheckInDate(), after.getCheckOutDate()));
+        }
+    }
+
+    private void putStay(Long bookingId, Stay stay) {
+        staysByBed.computeIfAbsent(stay.bedId, id -> new HashMap<>()).put(bookingId, stay);
+        bedByBooking.put(bookingId, stay.bedId);
+    }
+
+    private Horizon buildHorizon(LocalDate start) {
+        Horizon built = new Horizon(start, horizonDays);
+        for (Long bedId : staysByBed.keySet()) {
+            refreshBed(built, bedId);
+        }
+        return built;
+    }
+
+    // Recompute one bed's bitmap from its bookings and publish it with a single map write
+    private void refreshBed(Horizon target, Long bedId) {
+        Map<Long, Stay> bedStays = staysByBed.get(bedId);
+        if (bedStays == null) {
+            target.bitmaps.remove(bedId);
+            return;
+        }
+        long[] bits = new long[(target.days + 63) / 64];
+        for (Stay stay : bedStays.values()) {
+            int from = Math.max(0, target.dayIndex(stay.checkIn));
+            int to = Math.min(target.days, target.dayIndex(stay.checkOut));
+            setRange(bits, from, to);
+        }
+        target.bitmaps.put(bedId, bits);
+    }
+
+    // Sets bits [from, to)
+    private static void setRange(long[] bits, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << (from & 63);
+        long lastMask = -1L >>> (63 - ((to - 1) & 63));
+        if (firstWord == lastWord) {
+            bits[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        bits[firstWord] |= firstMask;
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            bits[word] = -1L;
+        }
+        bits[lastWord] |= lastMask;
+    }
+
+    // True when any bit in [from, to) is set
+    private static boolean anySet(long[] bits, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << (from & 63);
+        long lastMask = -1L >>> (63 - ((to - 1) & 63));
+        if (firstWord == lastWord) {
+            return (bits[firstWord] & firstMask & lastMask) != 0;
+        }
+        long occupied = bits[firstWord] & firstMask;
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            occupied |= bits[word];
+        }
+        occupied |= bits[lastWord] & lastMask;
+        return occupied != 0;
+    }
+
+    private static final class Stay {
+        private final Long bedId;
+        private final LocalDate checkIn;
+        private final LocalDate checkOut;
+
+        private Stay(Long bedId, LocalDate checkIn, LocalDate checkOut) {
+            this.bedId = bedId;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+        }
+    }
+
+    private static final class Horizon {
+        private final LocalDate start;
+        private final long startEpochDay;
+        private final int days;
+        private final Map<Long, long[]> bitmaps = new ConcurrentHashMap<>();
+
+        private Horizon(LocalDate start, int days) {
+            this.start = start;
+            this.startEpochDay = start.toEpochDay();
+            this.days = days;
+        }
+
+        private int dayIndex(LocalDate date) {
+            return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, date.toEpochDay() - startEpochDay));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.Application.GuestHouseBooking.events.BookingChangedEvent;
+
+/**
+ * Occupied-bed counts per guest house and day. A day stays cached until a booking
+ * touching that day in that guest house changes.
+ */
+@Component
+public class OccupancyCalendarCache {
+
+    private final Map<Long, Map<LocalDate, Integer>> occupiedByGuestHouse = new ConcurrentHashMap<>();
+
+    // Bumped on every booking change so counts computed before the change are not cached afterwards
+    private long generation = 0;
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    // Occupied counts for each day of [start, start + days), or null when any day is missing
+    public int[] get(Long guestHouseId, LocalDate start, int days) {
+        Map<LocalDate, Integer> cachedDays = occupiedByGuestHouse.get(guestHouseId);
+        if (cachedDays == null) {
+            return null;
+        }
+        int[] occupied = new int[days];
+        for (int day = 0; day < days; day++) {
+            Integer count = cachedDays.get(start.plusDays(day));
+            if (count == null) {
+                return null;
+            }
+            occupied[day] = count;
+        }
+        return occupied;
+    }
+
+    public synchronized void put(Long guestHouseId, LocalDate start, int[] occupied, long generationAtRead) {
+        if (generation != generationAtRead) {
+            return;
+        }
+        Map<LocalDate, Integer> cachedDays = occupiedByGuestHouse.computeIfAbsent(guestHouseId, id -> new ConcurrentHashMap<>());
+        for (int day = 0; day < occupied.length; day++) {
+            cachedDays.put(start.plusDays(day), occupied[day]);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookingChanged(BookingChangedEvent change) {
+        generation++;
+        evict(change.getBefore());
+        evict(change.getAfter());
+    }
+
+    private void evict(BookingChangedEvent.Snapshot stay) {
+        if (stay == null) {
+            return;
+        }
+        Map<LocalDate, Integer> cachedDays = occupiedByGuestHouse.get(stay.getGuestHouseId());
+        if (cachedDays != null) {
+            cachedDays.keySet().removeIf(day -> !day.isBefore(stay.getCheckInDate()) && day.isBefore(stay.getCheckOutDate()));
+        }
+    }
+
+    @Scheduled(cron = "0 10 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        occupiedByGuestHouse.values().forEach(cachedDays -> cachedDays.keySet().removeIf(day -> day.isBefore(today)));
+    }
+}
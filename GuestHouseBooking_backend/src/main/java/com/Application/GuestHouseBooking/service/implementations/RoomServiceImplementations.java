@@ -1,8 +1,11 @@
 package com.Application.GuestHouseBooking.service.implementations;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.hibernate.Hibernate;
@@ -11,10 +14,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.Application.GuestHouseBooking.dtos.BedDTO;
+import com.Application.GuestHouseBooking.dtos.PageResponseDTO;
 import com.Application.GuestHouseBooking.dtos.RoomDTO;
 import com.Application.GuestHouseBooking.entity.Bed;
 import com.Application.GuestHouseBooking.entity.GuestHouse;
 import com.Application.GuestHouseBooking.entity.Room;
+import com.Application.GuestHouseBooking.repository.BedOccupancyRepository;
 import com.Application.GuestHouseBooking.repository.GuestHouseRepository;
 import com.Application.GuestHouseBooking.repository.RoomRepository;
 import com.Application.GuestHouseBooking.service.RoomServices;
@@ -33,18 +38,57 @@ public class RoomServiceImplementations implements RoomServices {
     @Autowired
     private GuestHouseRepository guestHouseRepository;
 
+    @Autowired
+    private BedOccupancyRepository bedOccupancyRepository;
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private AvailabilityCache availabilityCache;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private KeysetPaging keysetPaging;
+
     private RoomDTO convertToDTO(Room room) {
-        // Ensure the entity is attached to the persistence context
-        if (!entityManager.contains(room)) {
-            room = entityManager.merge(room);
+        return convertToDTOs(List.of(room)).get(0);
+    }
+
+    // Beds of all the given rooms load in IN-batches and today's occupancy comes from one query,
+    // so converting a list costs a fixed number of queries rather than a few per room
+    private List<RoomDTO> convertToDTOs(List<Room> rooms) {
+        List<Room> attached = new ArrayList<>();
+        for (Room room : rooms) {
+            // Ensure the entity is attached to the persistence context
+            attached.add(entityManager.contains(room) ? room : entityManager.merge(room));
         }
 
+        Set<Long> occupiedBedIds = new HashSet<>();
+        try {
+            List<Long> bedIds = new ArrayList<>();
+            for (Room room : attached) {
+                Hibernate.initialize(room.getBeds());
+                room.getBeds().forEach(bed -> bedIds.add(bed.getId()));
+            }
+            if (!bedIds.isEmpty()) {
+                occupiedBedIds.addAll(bedOccupancyRepository.findOccupiedBedIdsAmong(bedIds, LocalDate.now()));
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading bed occupancy for rooms: " + e.getMessage());
+        }
+
+        return attached.stream()
+                .map(room -> convertToDTO(room, occupiedBedIds))
+                .collect(Collectors.toList());
+    }
+
+    private RoomDTO convertToDTO(Room room, Set<Long> occupiedBedIds) {
         RoomDTO dto = new RoomDTO();
         dto.setId(room.getId());
         dto.setRoomNumber(room.getRoomNumber());
@@ -57,10 +101,9 @@ public class RoomServiceImplementations implements RoomServices {
         dto.setGuestHouseId(room.getGuestHouse().getId());
 
         try {
-            // Initialize beds collection within transaction
-            Hibernate.initialize(room.getBeds());
             List<BedDTO> bedDTOs = room.getBeds().stream()
                     .map(this::convertBedToDTO)
+                    .peek(bedDTO -> bedDTO.setOccupiedToday(occupiedBedIds.contains(bedDTO.getId())))
                     .collect(Collectors.toList());
             dto.setBeds(bedDTOs);
         } catch (Exception e) {
@@ -104,6 +147,7 @@ public class RoomServiceImplementations implements RoomServices {
     public RoomDTO createRoom(RoomDTO roomDTO) {
         Room room = convertToEntity(roomDTO);
         Room savedRoom = roomRepository.save(room);
+        catalogCache.evictRoom(savedRoom.getId(), savedRoom.getGuestHouse().getId());
         return convertToDTO(savedRoom);
     }
 
@@ -115,9 +159,15 @@ public class RoomServiceImplementations implements RoomServices {
 
     @Override
     public List<RoomDTO> getAllRooms() {
-        return roomRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(roomRepository.findAll());
+    }
+
+    @Override
+    public PageResponseDTO<RoomDTO> getRoomsPage(String cursor, Integer size) {
+        KeysetPaging.Position after = keysetPaging.decode(cursor);
+        return keysetPaging.toPage(
+                roomRepository.findPageAfter(after.getCreatedAt(), after.getId(), keysetPaging.pageable(size)),
+                Room::getCreatedAt, Room::getId, this::convertToDTOs);
     }
 
     @Override
@@ -125,9 +175,7 @@ public class RoomServiceImplementations implements RoomServices {
     public List<RoomDTO> getRoomsByGuestHouseId(Long guestHouseId) {
         try {
             List<Room> rooms = roomRepository.findByGuestHouseId(guestHouseId);
-            return rooms.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            return convertToDTOs(rooms);
         } catch (Exception e) {
             System.err.println("Error retrieving rooms by guest house ID: " + e.getMessage());
             e.printStackTrace();
@@ -141,6 +189,8 @@ public class RoomServiceImplementations implements RoomServices {
         if (existingRoomOptional.isPresent()) {
             Room existingRoom = existingRoomOptional.get();
 
+            Long previousGuestHouseId = existingRoom.getGuestHouse().getId();
+
             // Update fields from DTO to existing entity
             GuestHouse guestHouse = guestHouseRepository.findById(roomDTO.getGuestHouseId())
                     .orElseThrow(() -> new RuntimeException("GuestHouse not found with ID: " + roomDTO.getGuestHouseId()));
@@ -150,6 +200,8 @@ public class RoomServiceImplementations implements RoomServices {
             existingRoom.setAmenities(roomDTO.getAmenities());
 
             Room updatedRoom = roomRepository.save(existingRoom);
+            catalogCache.evictRoom(id, previousGuestHouseId, guestHouse.getId());
+            availabilityCache.invalidateAll(); // The room may have moved to another city
             return Optional.of(convertToDTO(updatedRoom));
         }
         return Optional.empty();
@@ -159,6 +211,8 @@ public class RoomServiceImplementations implements RoomServices {
     public boolean deleteRoom(Long id) {
         if (roomRepository.existsById(id)) {
             roomRepository.deleteById(id);
+            availabilityCache.invalidateAll();
+            catalogCache.evictAll();
             return true;
         }
         return false;
@@ -0,0 +1,76 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Totals of closed time-series buckets, keyed by granularity and bucket start. A closed bucket only changes
+ * when a past booking is edited, so entries never expire; instead the rollup maintainer evicts the buckets
+ * around a booking once its rows have been rewritten, and clears everything after a full rebuild.
+ */
+@Component
+public class TimeSeriesCache {
+
+    private static final long MAX_BUCKETS = 20_000;
+
+    private final Cache<String, Bucket> cache = Caffeine.newBuilder().maximumSize(MAX_BUCKETS).build();
+
+    // Bumped before every eviction so totals read before a change are never stored after it
+    private final AtomicLong generation = new AtomicLong();
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public Bucket get(String granularity, LocalDate bucketStart) {
+        return cache.getIfPresent(key(granularity, bucketStart));
+    }
+
+    public void put(String granularity, LocalDate bucketStart, Bucket bucket, long generationAtRead) {
+        if (generation.get() != generationAtRead) {
+            return;
+        }
+        String key = key(granularity, bucketStart);
+        cache.put(key, bucket);
+        // An eviction may have landed between the check and the put
+        if (generation.get() != generationAtRead) {
+            cache.invalidate(key);
+        }
+    }
+
+    // Drops every bucket that shares a day with [from, to]; the widest bucket is a month, so that bounds the search
+    public void evict(LocalDate from, LocalDate to) {
+        generation.incrementAndGet();
+        LocalDate earliestStart = from.minusMonths(1);
+        cache.asMap().keySet().removeIf(key -> {
+            LocalDate bucketStart = LocalDate.parse(key.substring(key.indexOf(':') + 1));
+            return !bucketStart.isAfter(to) && bucketStart.isAfter(earliestStart);
+        });
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Bucket {
+        private final long bookings;
+        private final BigDecimal revenue;
+        private final long occupiedNights;
+    }
+
+    private static String key(String granularity, LocalDate bucketStart) {
+        return granularity + ":" + bucketStart;
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.Application.GuestHouseBooking.dtos.PageResponseDTO;
 import com.Application.GuestHouseBooking.dtos.UserDTO;
 import com.Application.GuestHouseBooking.entity.User;
 import com.Application.GuestHouseBooking.repository.UserRepository;
@@ -28,6 +29,9 @@ public class UserServiceImplementations implements UserServices {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private KeysetPaging keysetPaging;
+
     private UserDTO convertToDTO(User user) {
         UserDTO dto = new UserDTO();
         dto.setId(user.getId());
@@ -113,6 +117,14 @@ public class UserServiceImplementations implements UserServices {
                 .collect(Collectors.toList());
     }
 
+    public PageResponseDTO<UserDTO> getUsersPage(String cursor, Integer size) {
+        KeysetPaging.Position after = keysetPaging.decode(cursor);
+        return keysetPaging.toPage(
+                userRepository.findPageAfter(after.getCreatedAt(), after.getId(), keysetPaging.pageable(size)),
+                User::getCreatedAt, User::getId,
+                users -> users.stream().map(this::convertToDTO).collect(Collectors.toList()));
+    }
+
     public Optional<UserDTO> updateUser(Long id, UserDTO userDTO) {
         Optional<User> existingUserOptional = userRepository.findById(id);
         if (existingUserOptional.isPresent()) {
@@ -0,0 +1,7 @@
+-- Bookings used to clear both bed flags (Bed.markAsBooked) and nothing set them back on cancel or denial.
+-- Occupancy now comes from bed_occupancy and the flags are admin-only, so release every bed left in that
+-- booking-written state; a bed an admin switched off without any booking on it keeps its flags.
+UPDATE bed b
+SET b.is_available = TRUE, b.is_available_for_booking = TRUE, b.updated_at = CURRENT_TIMESTAMP
+WHERE b.is_available = FALSE AND b.is_available_for_booking = FALSE
+  AND EXISTS (SELECT 1 FROM booking bk WHERE bk.bed_id = b.id);
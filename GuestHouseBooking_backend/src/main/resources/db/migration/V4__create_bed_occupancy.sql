@@ -0,0 +1,8 @@
+-- One row per bed per night held by an active booking, maintained by the application
+CREATE TABLE bed_occupancy (
+    booking_id BIGINT NOT NULL,
+    stay_date DATE NOT NULL,
+    bed_id BIGINT NOT NULL,
+    PRIMARY KEY (booking_id, stay_date),
+    INDEX idx_bed_occupancy_date_bed (stay_date, bed_id)
+);
@@ -0,0 +1,15 @@
+-- Per day and guest house booking totals, maintained by the application for period reports
+CREATE TABLE booking_daily_stats (
+    stat_date DATE NOT NULL,
+    guest_house_id BIGINT NOT NULL,
+    check_ins BIGINT NOT NULL DEFAULT 0,
+    completed_check_ins BIGINT NOT NULL DEFAULT 0,
+    completed_guests BIGINT NOT NULL DEFAULT 0,
+    completed_nights BIGINT NOT NULL DEFAULT 0,
+    pending_revenue DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    confirmed_revenue DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    completed_revenue DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    canceled_revenue DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    denied_revenue DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (stat_date, guest_house_id)
+);
@@ -0,0 +1,2 @@
+-- Active bookings holding a bed on the night starting stat_date, for occupancy series
+ALTER TABLE booking_daily_stats ADD COLUMN occupied_nights BIGINT NOT NULL DEFAULT 0;
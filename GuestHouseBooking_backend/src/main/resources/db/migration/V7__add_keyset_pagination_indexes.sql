@@ -0,0 +1,6 @@
+-- Backs keyset pagination on the list endpoints, which page in (created_at, id) order
+CREATE INDEX idx_guest_house_created_at_id ON guest_house (created_at, id);
+CREATE INDEX idx_room_created_at_id ON room (created_at, id);
+CREATE INDEX idx_bed_created_at_id ON bed (created_at, id);
+CREATE INDEX idx_user_created_at_id ON `user` (created_at, id);
+CREATE INDEX idx_booking_created_at_id ON booking (created_at, id);
@@ -0,0 +1,2 @@
+-- Covers the period report's distinct-guest count (status, check-in range, user) without touching booking rows
+CREATE INDEX idx_booking_status_check_in_user ON booking (status, check_in_date, user_id);
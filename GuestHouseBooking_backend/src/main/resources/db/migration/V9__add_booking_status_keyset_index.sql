@@ -0,0 +1,2 @@
+-- Backs the status-filtered booking list, which pages in (created_at, id) order within one status
+CREATE INDEX idx_booking_status_created_at_id ON booking (status, created_at, id);
@@ -0,0 +1,77 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.Application.GuestHouseBooking.MailServices.MailService;
+import com.Application.GuestHouseBooking.entity.GuestHouse;
+import com.Application.GuestHouseBooking.support.CatalogFixture;
+import com.Application.GuestHouseBooking.support.QueryStatistics;
+
+// Free-bed checks are answered by set-based queries, so their statement count does not grow with beds or houses
+@SpringBootTest
+@Import({ CatalogFixture.class, QueryStatistics.class })
+class AvailabilityQueryTests {
+
+    @Autowired
+    private BedServicesImplementations bedService;
+
+    @Autowired
+    private AvailabilityServiceImplementations availabilityService;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private QueryStatistics queryStatistics;
+
+    @MockitoBean
+    private MailService mailService;
+
+    @AfterEach
+    void cleanup() {
+        fixture.cleanup();
+    }
+
+    @Test
+    void availableBedsOfARoomCostTheSameStatementsForOneBedOrMany() {
+        Long smallRoomId = roomOf(fixture.guestHouse(1, 1));
+        Long largeRoomId = roomOf(fixture.guestHouse(1, 8));
+        LocalDate checkIn = LocalDate.now().plusDays(40);
+
+        long smallRoom = queryStatistics.statements(() -> bedService.getAvailableBeds(smallRoomId, checkIn, checkIn.plusDays(2)));
+        long largeRoom = queryStatistics.statements(() -> bedService.getAvailableBeds(largeRoomId, checkIn, checkIn.plusDays(2)));
+
+        assertEquals(smallRoom, largeRoom);
+        assertTrue(largeRoom <= 2, "expected the room's beds plus at most one free-bed query, got " + largeRoom);
+    }
+
+    @Test
+    void citySearchCostsTheSameStatementsForOneGuestHouseOrMany() {
+        fixture.guestHouse(1, 2);
+        LocalDate checkIn = LocalDate.now().plusDays(40);
+        long oneHouse = queryStatistics.statements(
+                () -> availabilityService.searchAvailability(fixture.getCity(), checkIn, checkIn.plusDays(2), 1));
+
+        fixture.guestHouse(2, 2);
+        fixture.guestHouse(2, 2);
+        // Other dates, so the answer cached above is not reused
+        long threeHouses = queryStatistics.statements(
+                () -> availabilityService.searchAvailability(fixture.getCity(), checkIn.plusDays(1), checkIn.plusDays(3), 1));
+
+        assertEquals(oneHouse, threeHouses);
+    }
+
+    private Long roomOf(GuestHouse guestHouse) {
+        return fixture.beds(guestHouse).get(0).getRoom().getId();
+    }
+}
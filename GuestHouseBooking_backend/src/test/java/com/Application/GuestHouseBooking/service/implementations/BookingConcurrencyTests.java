@@ -0,0 +1,258 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.Application.GuestHouseBooking.MailServices.MailService;
+import com.Application.GuestHouseBooking.dtos.GroupBookingDTO;
+import com.Application.GuestHouseBooking.entity.Bed;
+import com.Application.GuestHouseBooking.entity.Booking;
+import com.Application.GuestHouseBooking.entity.GuestHouse;
+import com.Application.GuestHouseBooking.exceptions.BookingConflictException;
+import com.Application.GuestHouseBooking.repository.BookingRepository;
+import com.Application.GuestHouseBooking.support.CatalogFixture;
+
+// Many threads booking at once, mixing single and group bookings: no bed may end up booked twice for a night,
+// and bookings of different beds must not wait for each other
+@SpringBootTest
+@Import(CatalogFixture.class)
+class BookingConcurrencyTests {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private BookingServiceImplementations bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @MockitoBean
+    private MailService mailService;
+
+    @AfterEach
+    void cleanup() {
+        fixture.cleanup();
+    }
+
+    @Test
+    void concurrentSingleAndGroupBookingsNeverDoubleBookABedNight() throws Exception {
+        GuestHouse guestHouse = fixture.guestHouse(2, 3);
+        List<Bed> beds = fixture.beds(guestHouse);
+        LocalDate start = LocalDate.now().plusDays(30);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Throwable> unexpected = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                LocalDate checkIn = start.plusDays(round * 2L);
+                CountDownLatch go = new CountDownLatch(1);
+                CountDownLatch done = new CountDownLatch(THREADS);
+                for (int t = 0; t < THREADS; t++) {
+                    int thread = t;
+                    pool.submit(() -> {
+                        try {
+                            go.await();
+                            if (thread % 2 == 0) {
+                                bookingService.createGroupBooking(group(guestHouse.getId(), checkIn, checkIn.plusDays(3), 2));
+                            } else {
+                                Bed bed = beds.get(thread % beds.size());
+                                bookingService.createBooking(fixture.booking(bed.getId(), checkIn.plusDays(1), checkIn.plusDays(2)));
+                            }
+                            succeeded.incrementAndGet();
+                        } catch (Throwable e) {
+                            // Losing the race is expected; anything else (deadlock, lock timeout, ...) fails the test
+                            if (!isConflict(e)) {
+                                synchronized (unexpected) {
+                                    unexpected.add(e);
+                                }
+                            }
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+                }
+                go.countDown();
+                assertTrue(done.await(2, TimeUnit.MINUTES), "Booking threads did not finish");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected);
+        assertTrue(succeeded.get() > 0, "No booking succeeded");
+
+        Map<Long, Set<LocalDate>> bookedNights = new HashMap<>();
+        for (Bed bed : beds) {
+            for (Booking booking : bookingRepository.findByBedId(bed.getId())) {
+                if (!booking.getStatus().isActive()) {
+                    continue;
+                }
+                Set<LocalDate> nights = bookedNights.computeIfAbsent(bed.getId(), id -> new HashSet<>());
+                for (LocalDate night = booking.getCheckInDate(); night.isBefore(booking.getCheckOutDate()); night = night.plusDays(1)) {
+                    assertTrue(nights.add(night), "Bed " + bed.getId() + " is booked twice on " + night);
+                }
+            }
+        }
+    }
+
+    @Test
+    void concurrentBookingsOfOneBedLetExactlyOneOverlappingStayThrough() throws Exception {
+        GuestHouse guestHouse = fixture.guestHouse(1, 1);
+        Bed bed = fixture.beds(guestHouse).get(0);
+        LocalDate start = LocalDate.now().plusDays(30);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Throwable> unexpected = new ArrayList<>();
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                // Every window contains the night start+3, so at most one of them can be booked
+                LocalDate checkIn = start.plusDays(t % 4);
+                pool.submit(() -> {
+                    try {
+                        go.await();
+                        bookingService.createBooking(fixture.booking(bed.getId(), checkIn, checkIn.plusDays(4)));
+                        succeeded.incrementAndGet();
+                    } catch (Throwable e) {
+                        if (!isConflict(e)) {
+                            synchronized (unexpected) {
+                                unexpected.add(e);
+                            }
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            go.countDown();
+            assertTrue(done.await(2, TimeUnit.MINUTES), "Booking threads did not finish");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected);
+        assertEquals(1, succeeded.get(), "Exactly one overlapping booking should succeed");
+        assertEquals(1, bookingRepository.findByBedId(bed.getId()).size());
+    }
+
+    // Bookings of different beds must not wait for each other: THREADS threads each book their own bed (in their
+    // own guest house, so the rollup's per-house lock is not shared either) and must together finish well within
+    // the time the same bookings take one after another, which a single global lock could not achieve
+    @Test
+    void bookingsOfDifferentBedsRunInParallel() throws Exception {
+        List<Bed> beds = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            beds.add(fixture.beds(fixture.guestHouse(1, 1)).get(0));
+        }
+        LocalDate start = LocalDate.now().plusDays(30);
+
+        // Warm up the connection pool and caches so neither run pays for it
+        bookingService.createBooking(fixture.booking(beds.get(0).getId(), start.minusDays(4), start.minusDays(2)));
+
+        long serialStarted = System.nanoTime();
+        for (Bed bed : beds) {
+            bookingService.createBooking(fixture.booking(bed.getId(), start, start.plusDays(2)));
+        }
+        long serialMillis = (System.nanoTime() - serialStarted) / 1_000_000;
+
+        LocalDate checkIn = start.plusDays(5);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Throwable> failures = new ArrayList<>();
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long parallelMillis;
+        try {
+            for (Bed bed : beds) {
+                pool.submit(() -> {
+                    try {
+                        go.await();
+                        bookingService.createBooking(fixture.booking(bed.getId(), checkIn, checkIn.plusDays(2)));
+                        succeeded.incrementAndGet();
+                    } catch (Throwable e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            long parallelStarted = System.nanoTime();
+            go.countDown();
+            assertTrue(done.await(2, TimeUnit.MINUTES), "Booking threads did not finish");
+            parallelMillis = (System.nanoTime() - parallelStarted) / 1_000_000;
+        } finally {
+            pool.shutdownNow();
+        }
+
+        System.out.println("Booking throughput, " + THREADS + " distinct beds: serial " + serialMillis + " ms ("
+                + perSecond(THREADS, serialMillis) + " bookings/s), parallel " + parallelMillis + " ms ("
+                + perSecond(THREADS, parallelMillis) + " bookings/s)");
+
+        assertTrue(failures.isEmpty(), "Bookings of distinct beds failed: " + failures);
+        assertEquals(THREADS, succeeded.get());
+        assertTrue(parallelMillis * 4 < serialMillis * 3, "Bookings of distinct beds took " + parallelMillis
+                + " ms in parallel against " + serialMillis + " ms one after another; they appear to serialize");
+    }
+
+    private static long perSecond(int bookings, long millis) {
+        return millis == 0 ? bookings * 1000L : bookings * 1000L / millis;
+    }
+
+    // The outcomes a booking may legitimately lose a race with: the bed or the group's beds were taken first
+    private static boolean isConflict(Throwable e) {
+        if (e instanceof BookingConflictException) {
+            return true;
+        }
+        String message = e.getMessage();
+        return e.getClass() == RuntimeException.class && message != null
+                && (message.startsWith("Not enough free beds") || message.startsWith("Some of the selected beds were booked"));
+    }
+
+    private GroupBookingDTO group(Long guestHouseId, LocalDate checkIn, LocalDate checkOut, int size) {
+        GroupBookingDTO group = new GroupBookingDTO();
+        group.setGuestHouseId(guestHouseId);
+        group.setCheckInDate(checkIn);
+        group.setCheckOutDate(checkOut);
+        group.setStatus(Booking.BookingStatus.PENDING);
+        for (int i = 0; i < size; i++) {
+            GroupBookingDTO.Guest guest = new GroupBookingDTO.Guest();
+            guest.setFirstName("Group");
+            guest.setLastName("Guest " + i);
+            guest.setEmail("group" + i + "@example.com");
+            guest.setPhoneNumber("0123456789");
+            guest.setGender("OTHER");
+            guest.setAddress("1 Test Street");
+            group.getGuests().add(guest);
+        }
+        return group;
+    }
+}
@@ -0,0 +1,89 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.Application.GuestHouseBooking.MailServices.MailService;
+import com.Application.GuestHouseBooking.dtos.GroupBookingDTO;
+import com.Application.GuestHouseBooking.entity.Bed;
+import com.Application.GuestHouseBooking.entity.Booking;
+import com.Application.GuestHouseBooking.entity.BookingDailyStats;
+import com.Application.GuestHouseBooking.entity.GuestHouse;
+import com.Application.GuestHouseBooking.repository.BookingDailyStatsRepository;
+import com.Application.GuestHouseBooking.support.CatalogFixture;
+
+// The rollup follows bookings as they commit, without waiting for the nightly rebuild
+@SpringBootTest
+@Import(CatalogFixture.class)
+class BookingDailyStatsMaintainerTests {
+
+    @Autowired
+    private BookingServiceImplementations bookingService;
+
+    @Autowired
+    private BookingDailyStatsRepository bookingDailyStatsRepository;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @MockitoBean
+    private MailService mailService;
+
+    @AfterEach
+    void cleanup() {
+        fixture.cleanup();
+    }
+
+    @Test
+    void aNewBookingIsInTheRollupAsSoonAsItCommits() {
+        GuestHouse guestHouse = fixture.guestHouse(1, 1);
+        Bed bed = fixture.beds(guestHouse).get(0);
+        LocalDate checkIn = LocalDate.now().plusDays(20);
+
+        bookingService.createBooking(fixture.booking(bed.getId(), checkIn, checkIn.plusDays(3)));
+
+        Optional<BookingDailyStats> checkInDay =
+                bookingDailyStatsRepository.findById(new BookingDailyStats.Key(checkIn, guestHouse.getId()));
+        assertTrue(checkInDay.isPresent(), "no rollup row for the check-in day");
+        assertEquals(1L, checkInDay.get().getCheckIns());
+        assertEquals(1L, checkInDay.get().getOccupiedNights());
+    }
+
+    @Test
+    void aNewGroupBookingIsInTheRollupAsSoonAsItCommits() {
+        GuestHouse guestHouse = fixture.guestHouse(1, 3);
+        LocalDate checkIn = LocalDate.now().plusDays(20);
+
+        GroupBookingDTO group = new GroupBookingDTO();
+        group.setGuestHouseId(guestHouse.getId());
+        group.setCheckInDate(checkIn);
+        group.setCheckOutDate(checkIn.plusDays(2));
+        group.setStatus(Booking.BookingStatus.PENDING);
+        for (int i = 0; i < 2; i++) {
+            GroupBookingDTO.Guest guest = new GroupBookingDTO.Guest();
+            guest.setFirstName("Group");
+            guest.setLastName("Guest " + i);
+            guest.setEmail("group" + i + "@example.com");
+            guest.setPhoneNumber("0123456789");
+            guest.setGender("OTHER");
+            guest.setAddress("1 Test Street");
+            group.getGuests().add(guest);
+        }
+        bookingService.createGroupBooking(group);
+
+        Optional<BookingDailyStats> checkInDay =
+                bookingDailyStatsRepository.findById(new BookingDailyStats.Key(checkIn, guestHouse.getId()));
+        assertTrue(checkInDay.isPresent(), "no rollup row for the check-in day");
+        assertEquals(2L, checkInDay.get().getCheckIns());
+    }
+}
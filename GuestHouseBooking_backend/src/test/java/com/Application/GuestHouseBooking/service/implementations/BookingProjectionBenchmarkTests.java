@@ -0,0 +1,151 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.Application.GuestHouseBooking.MailServices.MailService;
+import com.Application.GuestHouseBooking.dtos.BookingDTO;
+import com.Application.GuestHouseBooking.entity.Bed;
+import com.Application.GuestHouseBooking.entity.Booking;
+import com.Application.GuestHouseBooking.support.CatalogFixture;
+import com.Application.GuestHouseBooking.support.QueryStatistics;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Booking reads from the flat BookingView projection against the fetch-joined entity graph they replaced
+@SpringBootTest
+@Import({ CatalogFixture.class, QueryStatistics.class })
+class BookingProjectionBenchmarkTests {
+
+    private static final int BOOKINGS = 40;
+    private static final int ITERATIONS = 50;
+
+    // The query getBookingsByBedId ran before the projection
+    private static final String ENTITY_GRAPH_BY_BED = "SELECT DISTINCT b FROM Booking b " +
+            "LEFT JOIN FETCH b.bed bed " +
+            "LEFT JOIN FETCH bed.room room " +
+            "LEFT JOIN FETCH room.guestHouse gh " +
+            "LEFT JOIN FETCH b.user " +
+            "WHERE b.bed.id = :bedId";
+
+    @Autowired
+    private BookingServiceImplementations bookingService;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private QueryStatistics queryStatistics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private MailService mailService;
+
+    @AfterEach
+    void cleanup() {
+        fixture.cleanup();
+    }
+
+    @Test
+    void bookingListsAreOneProjectionQueryWithoutEntityLoads() {
+        Bed bed = fixture.beds(fixture.guestHouse(1, 1)).get(0);
+        LocalDate checkIn = LocalDate.now().plusDays(60);
+        for (int stay = 0; stay < 4; stay++) {
+            LocalDate from = checkIn.plusDays(stay * 3L);
+            bookingService.createBooking(fixture.booking(bed.getId(), from, from.plusDays(2)));
+        }
+
+        Statistics byBed = queryStatistics.measure(() -> bookingService.getBookingsByBedId(bed.getId()));
+        assertEquals(1, byBed.getPrepareStatementCount());
+        assertEquals(0, byBed.getEntityLoadCount());
+
+        Statistics active = queryStatistics.measure(() -> bookingService.getActiveBookings());
+        assertEquals(1, active.getPrepareStatementCount());
+        assertEquals(0, active.getEntityLoadCount());
+    }
+
+    @Test
+    void projectionReadsAllocateLessThanTheEntityGraph() {
+        Bed bed = fixture.beds(fixture.guestHouse(1, 1)).get(0);
+        LocalDate checkIn = LocalDate.now().plusDays(60);
+        for (int stay = 0; stay < BOOKINGS; stay++) {
+            LocalDate from = checkIn.plusDays(stay * 3L);
+            bookingService.createBooking(fixture.booking(bed.getId(), from, from.plusDays(2)));
+        }
+        Long bedId = bed.getId();
+
+        // Same rows both ways before anything is timed
+        assertEquals(BOOKINGS, bookingService.getBookingsByBedId(bedId).size());
+        assertEquals(BOOKINGS, byEntityGraph(bedId).size());
+
+        Statistics graphStatistics = queryStatistics.measure(() -> byEntityGraph(bedId));
+        long[] graph = run(() -> byEntityGraph(bedId));
+        long[] projection = run(() -> bookingService.getBookingsByBedId(bedId));
+
+        System.out.println(BOOKINGS + " bookings of one bed, per call: entity graph " + graph[0] / ITERATIONS
+                + " bytes in " + graph[1] / ITERATIONS / 1_000 + " us (" + graphStatistics.getEntityLoadCount()
+                + " entities), projection " + projection[0] / ITERATIONS + " bytes in "
+                + projection[1] / ITERATIONS / 1_000 + " us");
+
+        assertTrue(graphStatistics.getEntityLoadCount() >= BOOKINGS, "the entity graph should hydrate every booking");
+        assertTrue(projection[0] < graph[0],
+                "the projection allocated " + projection[0] + " bytes against " + graph[0] + " for the entity graph");
+    }
+
+    // The old read: the booking graph fetch-joined into the persistence context, then copied into DTOs
+    private List<BookingDTO> byEntityGraph(Long bedId) {
+        return entityManager.createQuery(ENTITY_GRAPH_BY_BED, Booking.class)
+                .setParameter("bedId", bedId)
+                .getResultList().stream()
+                .map(BookingProjectionBenchmarkTests::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    // The display fields the old convertToDTO read from the graph
+    private static BookingDTO toDTO(Booking booking) {
+        BookingDTO dto = new BookingDTO();
+        dto.setId(booking.getId());
+        dto.setBedId(booking.getBed().getId());
+        dto.setRoomId(booking.getBed().getRoom().getId());
+        dto.setGuestHouseId(booking.getBed().getRoom().getGuestHouse().getId());
+        dto.setCheckInDate(booking.getCheckInDate());
+        dto.setCheckOutDate(booking.getCheckOutDate());
+        dto.setStatus(booking.getStatus());
+        dto.setUserName(booking.getUser() != null
+                ? booking.getUser().getFirstName() + " " + booking.getUser().getLastName()
+                : booking.getFirstName() + " " + booking.getLastName());
+        dto.setBedNumber(booking.getBed().getBedNumber());
+        dto.setRoomNumber(booking.getBed().getRoom().getRoomNumber());
+        dto.setGuestHouseName(booking.getBed().getRoom().getGuestHouse().getName());
+        return dto;
+    }
+
+    // Bytes allocated by this thread and nanoseconds taken over ITERATIONS runs, after one untimed run
+    private long[] run(Runnable action) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        action.run();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            action.run();
+        }
+        long nanos = System.nanoTime() - started;
+        return new long[] { threads.getCurrentThreadAllocatedBytes() - allocatedBefore, nanos };
+    }
+}
@@ -0,0 +1,98 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.Application.GuestHouseBooking.MailServices.MailService;
+import com.Application.GuestHouseBooking.dtos.GuestHouseDTO;
+import com.Application.GuestHouseBooking.support.CatalogFixture;
+import com.Application.GuestHouseBooking.support.QueryStatistics;
+
+// The guest house detail page (the house, then its rooms with their beds) from a cold and a warm catalog cache
+@SpringBootTest
+@Import({ CatalogFixture.class, QueryStatistics.class })
+class CatalogCacheBenchmarkTests {
+
+    private static final int ROOMS = 10;
+    private static final int BEDS_PER_ROOM = 4;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private GuestHouseImplementations guestHouseService;
+
+    @Autowired
+    private RoomServiceImplementations roomService;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private QueryStatistics queryStatistics;
+
+    @MockitoBean
+    private MailService mailService;
+
+    @AfterEach
+    void cleanup() {
+        fixture.cleanup();
+    }
+
+    @Test
+    void theDetailPageIsServedFromTheSecondLevelCacheUntilAnEdit() {
+        Long guestHouseId = fixture.guestHouse(ROOMS, BEDS_PER_ROOM).getId();
+        Runnable detailPage = () -> {
+            assertTrue(guestHouseService.getGuestHouseById(guestHouseId).isPresent());
+            assertEquals(ROOMS, roomService.getRoomsByGuestHouseId(guestHouseId).size());
+        };
+
+        queryStatistics.evictSecondLevelCache();
+        Statistics cold = queryStatistics.measure(detailPage);
+        long coldStatements = cold.getPrepareStatementCount();
+        assertTrue(cold.getSecondLevelCachePutCount() > 0, "the cold read should fill the catalog regions");
+
+        Statistics warm = queryStatistics.measure(detailPage);
+        long warmStatements = warm.getPrepareStatementCount();
+        long warmHits = warm.getSecondLevelCacheHitCount();
+        assertTrue(warmHits > 0, "the warm read should hit the catalog regions");
+        assertTrue(warmStatements < coldStatements,
+                "expected fewer statements than the cold read's " + coldStatements + ", got " + warmStatements);
+
+        long coldMillis = millis(() -> {
+            queryStatistics.evictSecondLevelCache();
+            detailPage.run();
+        });
+        long warmMillis = millis(detailPage);
+        System.out.println("Guest house detail page with " + ROOMS + " rooms of " + BEDS_PER_ROOM + " beds, per view: cold "
+                + coldStatements + " statements in " + coldMillis / (double) ITERATIONS + " ms, warm " + warmStatements
+                + " statements and " + warmHits + " cache hits in " + warmMillis / (double) ITERATIONS + " ms");
+
+        GuestHouseDTO current = guestHouseService.getGuestHouseById(guestHouseId).orElseThrow();
+        GuestHouseDTO edit = new GuestHouseDTO();
+        edit.setName(current.getName());
+        edit.setAddress("2 Edited Street");
+        edit.setCity(current.getCity());
+        guestHouseService.updateGuestHouse(guestHouseId, edit);
+
+        Statistics afterEdit = queryStatistics.measure(detailPage);
+        assertTrue(afterEdit.getSecondLevelCacheMissCount() > 0,
+                "the edit should have evicted the guest house");
+    }
+
+    // Total time of ITERATIONS runs, after one untimed run to warm the connection pool and JIT
+    private long millis(Runnable action) {
+        action.run();
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            action.run();
+        }
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+}
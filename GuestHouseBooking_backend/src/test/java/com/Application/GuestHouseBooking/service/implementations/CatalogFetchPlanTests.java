@@ -0,0 +1,112 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.Application.GuestHouseBooking.MailServices.MailService;
+import com.Application.GuestHouseBooking.dtos.RoomDTO;
+import com.Application.GuestHouseBooking.entity.GuestHouse;
+import com.Application.GuestHouseBooking.repository.BedRepository;
+import com.Application.GuestHouseBooking.repository.GuestHouseRepository;
+import com.Application.GuestHouseBooking.repository.RoomRepository;
+import com.Application.GuestHouseBooking.support.CatalogFixture;
+import com.Application.GuestHouseBooking.support.JdbcRowCounter;
+import com.Application.GuestHouseBooking.support.QueryStatistics;
+
+// JDBC rows read when the whole catalog is loaded with its beds; they must grow with houses + rooms + beds, not their product
+@SpringBootTest
+@Import({ CatalogFixture.class, QueryStatistics.class, JdbcRowCounter.class })
+class CatalogFetchPlanTests {
+
+    // A fifth of the 100-house x 20-room x 10-bed catalog the fetch plan was sized for, to keep the build quick
+    private static final int HOUSES = 20;
+    private static final int ROOMS_PER_HOUSE = 20;
+    private static final int BEDS_PER_ROOM = 10;
+
+    @Autowired
+    private RoomServiceImplementations roomService;
+
+    @Autowired
+    private GuestHouseRepository guestHouseRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BedRepository bedRepository;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private QueryStatistics queryStatistics;
+
+    @Autowired
+    private JdbcRowCounter jdbcRowCounter;
+
+    @MockitoBean
+    private MailService mailService;
+
+    @AfterEach
+    void cleanup() {
+        fixture.cleanup();
+    }
+
+    @Test
+    void loadingEveryRoomWithItsBedsReadsRowsLinearInTheCatalog() {
+        for (int house = 0; house < HOUSES; house++) {
+            fixture.guestHouse(ROOMS_PER_HOUSE, BEDS_PER_ROOM);
+        }
+        // The list covers the whole table, so bound it by what the table holds, test data included
+        long houses = guestHouseRepository.count();
+        long rooms = roomRepository.count();
+        long beds = bedRepository.count();
+        queryStatistics.evictSecondLevelCache();
+
+        AtomicReference<List<RoomDTO>> loaded = new AtomicReference<>();
+        AtomicReference<Statistics> statistics = new AtomicReference<>();
+        long started = System.nanoTime();
+        long rowsRead = jdbcRowCounter.rowsDuring(
+                () -> statistics.set(queryStatistics.measure(() -> loaded.set(roomService.getAllRooms()))));
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        System.out.println("Catalog of " + houses + " houses, " + rooms + " rooms, " + beds + " beds: " + rowsRead
+                + " JDBC rows, " + statistics.get().getPrepareStatementCount() + " statements, "
+                + statistics.get().getEntityLoadCount() + " entities, " + statistics.get().getCollectionFetchCount()
+                + " collection fetches in " + millis + " ms");
+
+        assertEquals(rooms, loaded.get().size());
+        assertEquals(beds, loaded.get().stream().mapToLong(room -> room.getBeds().size()).sum());
+        // One row per house, room and bed, plus at most one occupancy row per bed
+        assertTrue(rowsRead <= houses + rooms + 2 * beds, "read " + rowsRead + " rows for " + houses + " houses, "
+                + rooms + " rooms and " + beds + " beds");
+        // The rooms, their beds in IN-batches of 100 rooms, and one occupancy lookup; never a query per room
+        long statements = statistics.get().getPrepareStatementCount();
+        assertTrue(statements <= 2 + (rooms + 99) / 100, "ran " + statements + " statements for " + rooms + " rooms");
+    }
+
+    @Test
+    void roomsOfAGuestHouseCostTheSameStatementsForOneRoomOrMany() {
+        GuestHouse oneRoom = fixture.guestHouse(1, 3);
+        GuestHouse sixRooms = fixture.guestHouse(6, 3);
+
+        // Cold second-level cache both times, so the beds really come from the database in IN-batches
+        queryStatistics.evictSecondLevelCache();
+        long small = queryStatistics.statements(() -> roomService.getRoomsByGuestHouseId(oneRoom.getId()));
+        queryStatistics.evictSecondLevelCache();
+        long large = queryStatistics.statements(() -> roomService.getRoomsByGuestHouseId(sixRooms.getId()));
+
+        assertEquals(small, large);
+    }
+}
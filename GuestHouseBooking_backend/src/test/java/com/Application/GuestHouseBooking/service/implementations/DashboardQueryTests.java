@@ -0,0 +1,66 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.Application.GuestHouseBooking.MailServices.MailService;
+import com.Application.GuestHouseBooking.repository.BookingRepository;
+import com.Application.GuestHouseBooking.repository.GuestHouseRepository;
+import com.Application.GuestHouseBooking.support.CatalogFixture;
+import com.Application.GuestHouseBooking.support.QueryStatistics;
+
+// The dashboard's overall statistics come from two aggregate queries, never from loading bookings or beds
+@SpringBootTest
+@Import({ CatalogFixture.class, QueryStatistics.class })
+class DashboardQueryTests {
+
+    @Autowired
+    private DashboardServiceImplementation dashboardService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private GuestHouseRepository guestHouseRepository;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private QueryStatistics queryStatistics;
+
+    @MockitoBean
+    private MailService mailService;
+
+    @AfterEach
+    void cleanup() {
+        fixture.cleanup();
+    }
+
+    @Test
+    void dashboardAggregatesAreOneStatementEach() {
+        fixture.guestHouse(2, 3);
+
+        assertEquals(1, queryStatistics.statements(() -> bookingRepository.summarizeBookings()));
+        assertEquals(1, queryStatistics.statements(() -> guestHouseRepository.summarizeCatalog(LocalDate.now())));
+    }
+
+    @Test
+    void overallStatisticsRunAtMostTheTwoAggregates() {
+        fixture.guestHouse(2, 3);
+
+        long statements = queryStatistics.statements(() -> dashboardService.getOverallStatistics());
+
+        // The catalog aggregate may be served from the counters' copy and the booking one from the live counters
+        assertTrue(statements <= 2, "expected at most the catalog and booking aggregates, got " + statements);
+    }
+}
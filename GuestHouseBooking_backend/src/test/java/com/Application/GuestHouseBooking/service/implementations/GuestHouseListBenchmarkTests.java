@@ -0,0 +1,164 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Application.GuestHouseBooking.MailServices.MailService;
+import com.Application.GuestHouseBooking.dtos.GuestHouseDTO;
+import com.Application.GuestHouseBooking.entity.Bed;
+import com.Application.GuestHouseBooking.entity.GuestHouse;
+import com.Application.GuestHouseBooking.entity.Room;
+import com.Application.GuestHouseBooking.repository.BedRepository;
+import com.Application.GuestHouseBooking.repository.BookingRepository;
+import com.Application.GuestHouseBooking.repository.GuestHouseRepository;
+import com.Application.GuestHouseBooking.repository.RoomRepository;
+import com.Application.GuestHouseBooking.support.CatalogFixture;
+import com.Application.GuestHouseBooking.support.QueryStatistics;
+
+// The guest house list before and after its room and bed counts moved into one aggregate query
+@SpringBootTest
+@Import({ CatalogFixture.class, QueryStatistics.class })
+class GuestHouseListBenchmarkTests {
+
+    private static final int HOUSES = 20;
+    private static final int ROOMS_PER_HOUSE = 5;
+    private static final int BEDS_PER_ROOM = 4;
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    private GuestHouseImplementations guestHouseService;
+
+    @Autowired
+    private BookingServiceImplementations bookingService;
+
+    @Autowired
+    private GuestHouseRepository guestHouseRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BedRepository bedRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private QueryStatistics queryStatistics;
+
+    @MockitoBean
+    private MailService mailService;
+
+    @AfterEach
+    void cleanup() {
+        fixture.cleanup();
+    }
+
+    @Test
+    void guestHouseListCostsTheSameStatementsWhateverItsRoomsAndBeds() {
+        fixture.guestHouse(1, 1);
+        long before = queryStatistics.statements(() -> guestHouseService.getAllGuestHouses());
+
+        fixture.guestHouse(3, 4);
+        fixture.guestHouse(3, 4);
+        long after = queryStatistics.statements(() -> guestHouseService.getAllGuestHouses());
+
+        assertEquals(before, after);
+        assertTrue(after <= 2, "expected the guest houses plus one count query, got " + after);
+        assertEquals(after, queryStatistics.statements(() -> guestHouseService.getAllGuestHousesWithRooms()));
+    }
+
+    @Test
+    void aggregateCountsBeatWalkingEveryRoomAndBed() {
+        List<Long> ids = new ArrayList<>();
+        for (int house = 0; house < HOUSES; house++) {
+            ids.add(fixture.guestHouse(ROOMS_PER_HOUSE, BEDS_PER_ROOM).getId());
+        }
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        List<Bed> someBeds = fixture.beds(guestHouseRepository.findById(ids.get(0)).orElseThrow());
+        bookingService.createBooking(fixture.booking(someBeds.get(0).getId(), checkIn, checkIn.plusDays(2)));
+
+        // Same answers for the test's guest houses both ways
+        Map<Long, int[]> walked = countByWalking();
+        for (GuestHouseDTO dto : guestHouseService.getAllGuestHouses()) {
+            if (ids.contains(dto.getId())) {
+                int[] expected = walked.get(dto.getId());
+                assertEquals(expected[0], dto.getTotalRooms());
+                assertEquals(expected[1], dto.getTotalBeds());
+                assertEquals(expected[2], dto.getAvailableBeds());
+            }
+        }
+
+        long walkingStatements = queryStatistics.statements(this::countByWalking);
+        long aggregateStatements = queryStatistics.statements(() -> guestHouseService.getAllGuestHouses());
+        long walkingMillis = millis(this::countByWalking);
+        long aggregateMillis = millis(() -> guestHouseService.getAllGuestHouses());
+
+        long houses = guestHouseRepository.count();
+        System.out.println("Guest house list of " + houses + " houses, per call: before " + walkingStatements
+                + " statements in " + walkingMillis / (double) ITERATIONS + " ms, after " + aggregateStatements
+                + " statements in " + aggregateMillis / (double) ITERATIONS + " ms");
+
+        assertTrue(aggregateStatements <= 2, "expected the guest houses plus one count query, got " + aggregateStatements);
+        assertTrue(walkingStatements > houses, "the old walk should cost at least one statement per house");
+        assertTrue(aggregateMillis < walkingMillis,
+                "the aggregate took " + aggregateMillis + " ms against " + walkingMillis + " ms for the walk");
+    }
+
+    // What convertToDTO did before the aggregate: every house's rooms, every room's beds, and a free-bed query
+    // per house. The rooms and beds are read by parent id, as the lazy collections were loaded before they were
+    // batched, so the statement count is that of the old code path.
+    private Map<Long, int[]> countByWalking() {
+        return transactionTemplate.execute(status -> {
+            Map<Long, int[]> counts = new HashMap<>();
+            for (GuestHouse guestHouse : guestHouseRepository.findAll()) {
+                Set<Long> freeBedIds = new HashSet<>(bookingRepository.findFreeBedIdsInGuestHouse(
+                        guestHouse.getId(), LocalDate.now(), BookingRepository.OPEN_ENDED));
+                int[] houseCounts = new int[3];
+                for (Room room : roomRepository.findByGuestHouseId(guestHouse.getId())) {
+                    houseCounts[0]++;
+                    for (Bed bed : bedRepository.findByRoomId(room.getId())) {
+                        houseCounts[1]++;
+                        if (bed.getIsAvailableForBooking() && freeBedIds.contains(bed.getId())) {
+                            houseCounts[2]++;
+                        }
+                    }
+                }
+                counts.put(guestHouse.getId(), houseCounts);
+            }
+            return counts;
+        });
+    }
+
+    // Total time of ITERATIONS runs, after one untimed run to warm the connection pool and JIT
+    private long millis(Runnable action) {
+        action.run();
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            action.run();
+        }
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+}
@@ -0,0 +1,89 @@
+package com.Application.GuestHouseBooking.service.implementations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.Application.GuestHouseBooking.MailServices.MailService;
+import com.Application.GuestHouseBooking.dtos.BookingDTO;
+import com.Application.GuestHouseBooking.dtos.GuestHouseDTO;
+import com.Application.GuestHouseBooking.dtos.PageResponseDTO;
+import com.Application.GuestHouseBooking.entity.Bed;
+import com.Application.GuestHouseBooking.entity.Booking;
+import com.Application.GuestHouseBooking.support.CatalogFixture;
+import com.Application.GuestHouseBooking.support.QueryStatistics;
+
+// Keyset pages cost the same statements however deep they are, and never run a count of the whole table
+@SpringBootTest
+@Import({ CatalogFixture.class, QueryStatistics.class })
+class KeysetPagingQueryTests {
+
+    @Autowired
+    private GuestHouseImplementations guestHouseService;
+
+    @Autowired
+    private BookingServiceImplementations bookingService;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private QueryStatistics queryStatistics;
+
+    @MockitoBean
+    private MailService mailService;
+
+    @AfterEach
+    void cleanup() {
+        fixture.cleanup();
+    }
+
+    @Test
+    void everyBookingPageIsOneStatementWithoutACount() {
+        bookStays(fixture.beds(fixture.guestHouse(1, 3)));
+
+        AtomicReference<PageResponseDTO<BookingDTO>> first = new AtomicReference<>();
+        long firstPage = queryStatistics.statements(() -> first.set(bookingService.getBookingsPage(null, null, 2)));
+        String cursor = first.get().getNextCursor();
+        long nextPage = queryStatistics.statements(() -> bookingService.getBookingsPage(null, cursor, 2));
+        long byStatus = queryStatistics.statements(
+                () -> bookingService.getBookingsPage(Booking.BookingStatus.PENDING, null, 2));
+
+        assertEquals(1, firstPage);
+        assertEquals(firstPage, nextPage);
+        assertEquals(1, byStatus);
+    }
+
+    @Test
+    void guestHousePagesCostTheSameStatementsAtAnyDepth() {
+        fixture.guestHouse(1, 1);
+        fixture.guestHouse(1, 1);
+        fixture.guestHouse(1, 1);
+
+        AtomicReference<PageResponseDTO<GuestHouseDTO>> first = new AtomicReference<>();
+        long firstPage = queryStatistics.statements(() -> first.set(guestHouseService.getGuestHousesPage(null, 1)));
+        String cursor = first.get().getNextCursor();
+        long nextPage = queryStatistics.statements(() -> guestHouseService.getGuestHousesPage(cursor, 1));
+
+        assertEquals(firstPage, nextPage);
+        assertTrue(nextPage <= 2, "expected the page plus one count of its rooms and beds, got " + nextPage);
+    }
+
+    // One short stay per bed, far enough ahead not to meet other data
+    private void bookStays(List<Bed> beds) {
+        LocalDate checkIn = LocalDate.now().plusDays(60);
+        for (Bed bed : beds) {
+            bookingService.createBooking(fixture.booking(bed.getId(), checkIn, checkIn.plusDays(2)));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.Application.GuestHouseBooking.support;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Application.GuestHouseBooking.dtos.BookingDTO;
+import com.Application.GuestHouseBooking.entity.Bed;
+import com.Application.GuestHouseBooking.entity.Booking;
+import com.Application.GuestHouseBooking.entity.GuestHouse;
+import com.Application.GuestHouseBooking.entity.Room;
+import com.Application.GuestHouseBooking.repository.BedRepository;
+import com.Application.GuestHouseBooking.repository.BookingDailyStatsRepository;
+import com.Application.GuestHouseBooking.repository.BookingRepository;
+import com.Application.GuestHouseBooking.repository.GuestHouseRepository;
+import com.Application.GuestHouseBooking.repository.RoomRepository;
+import com.Application.GuestHouseBooking.service.implementations.BookingServiceImplementations;
+
+/**
+ * Creates throwaway guest houses, rooms and beds in the test database and removes them, with any bookings made
+ * on them, afterwards. Names and bed numbers carry a random tag so runs never collide with real data.
+ */
+@TestComponent
+public class CatalogFixture {
+
+    @Autowired
+    private GuestHouseRepository guestHouseRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BedRepository bedRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingDailyStatsRepository bookingDailyStatsRepository;
+
+    @Autowired
+    private BookingServiceImplementations bookingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final String tag = "T" + UUID.randomUUID().toString().substring(0, 8);
+    private final String city = "Testcity-" + tag;
+    private final List<Long> guestHouseIds = new ArrayList<>();
+
+    public String getCity() {
+        return city;
+    }
+
+    public GuestHouse guestHouse(int rooms, int bedsPerRoom) {
+        return transactionTemplate.execute(status -> {
+            GuestHouse guestHouse = new GuestHouse();
+            guestHouse.setName("Test house " + tag + "-" + guestHouseIds.size());
+            guestHouse.setAddress("1 Test Street");
+            guestHouse.setCity(city);
+            guestHouse.setState("Test");
+            guestHouse.setCountry("Test");
+            guestHouse = guestHouseRepository.save(guestHouse);
+            guestHouseIds.add(guestHouse.getId());
+
+            for (int r = 0; r < rooms; r++) {
+                Room room = new Room();
+                room.setRoomNumber("R" + r);
+                room.setGuestHouse(guestHouse);
+                room = roomRepository.save(room);
+                for (int b = 0; b < bedsPerRoom; b++) {
+                    Bed bed = new Bed();
+                    bed.setRoom(room);
+                    bed.setBedNumber(tag + "-" + guestHouse.getId() + "-" + r + "-" + b);
+                    bed.setPricePerNight(new BigDecimal("100.00"));
+                    bed.setCreatedBy("test");
+                    bed.setLastModifiedBy("test");
+                    bedRepository.save(bed);
+                }
+            }
+            return guestHouse;
+        });
+    }
+
+    public List<Bed> beds(GuestHouse guestHouse) {
+        List<Bed> beds = new ArrayList<>();
+        for (Room room : roomRepository.findByGuestHouseId(guestHouse.getId())) {
+            beds.addAll(bedRepository.findByRoomId(room.getId()));
+        }
+        return beds;
+    }
+
+    public BookingDTO booking(Long bedId, LocalDate checkIn, LocalDate checkOut) {
+        BookingDTO booking = new BookingDTO();
+        booking.setBedId(bedId);
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkOut);
+        booking.setStatus(Booking.BookingStatus.PENDING);
+        booking.setFirstName("Test");
+        booking.setLastName("Guest");
+        booking.setEmail("guest@example.com");
+        booking.setPhoneNumber("0123456789");
+        booking.setGender("OTHER");
+        booking.setAddress("1 Test Street");
+        return booking;
+    }
+
+    // Bookings go through the service so occupancy rows and the daily rollup are cleaned up with them
+    public void cleanup() {
+        for (Long guestHouseId : guestHouseIds) {
+            GuestHouse guestHouse = guestHouseRepository.findById(guestHouseId).orElse(null);
+            if (guestHouse == null) {
+                continue;
+            }
+            for (Bed bed : beds(guestHouse)) {
+                for (Booking booking : bookingRepository.findByBedId(bed.getId())) {
+                    bookingService.deleteBooking(booking.getId());
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                guestHouseRepository.deleteById(guestHouseId);
+                bookingDailyStatsRepository.deleteGuestHouse(guestHouseId);
+            });
+        }
+        guestHouseIds.clear();
+    }
+}
@@ -0,0 +1,77 @@
+package com.Application.GuestHouseBooking.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestComponent;
+
+/**
+ * Counts the rows the application reads over JDBC, by wrapping the DataSource so that every ResultSet.next()
+ * returning true is counted. Hibernate statistics count statements and hydrated entities, but not the rows
+ * behind them, so a fetch plan that multiplies rows (a join across nested collections) only shows up here.
+ * Like the Hibernate statistics, the count covers every thread.
+ */
+@TestComponent
+public class JdbcRowCounter implements BeanPostProcessor {
+
+    private final AtomicLong rows = new AtomicLong();
+
+    public long rowsDuring(Runnable action) {
+        rows.set(0);
+        action.run();
+        return rows.get();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return wrap(bean, DataSource.class);
+        }
+        return bean;
+    }
+
+    private Object wrap(Object target, Class<?> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (type == ResultSet.class && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows.incrementAndGet();
+            }
+            // Follow the objects that lead to result sets; everything else is returned as is
+            if (result instanceof ResultSet && !(result instanceof Proxy)) {
+                return wrap(result, ResultSet.class);
+            }
+            if (result instanceof Statement && !(result instanceof Proxy)) {
+                return wrap(result, interfaceOf(result, Statement.class));
+            }
+            if (result instanceof Connection && !(result instanceof Proxy)) {
+                return wrap(result, Connection.class);
+            }
+            return result;
+        };
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    // The most specific JDBC statement interface the driver's object implements, so casts in Hibernate still work
+    private static Class<?> interfaceOf(Object statement, Class<?> fallback) {
+        if (statement instanceof java.sql.CallableStatement) {
+            return java.sql.CallableStatement.class;
+        }
+        if (statement instanceof java.sql.PreparedStatement) {
+            return java.sql.PreparedStatement.class;
+        }
+        return fallback;
+    }
+}
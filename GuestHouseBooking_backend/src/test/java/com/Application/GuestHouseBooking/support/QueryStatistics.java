@@ -0,0 +1,41 @@
+package com.Application.GuestHouseBooking.support;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Reads Hibernate's session factory statistics (hibernate.generate_statistics is on in application.properties)
+ * around a piece of code, so tests can check how many statements it ran and how the second-level cache answered.
+ * The counters are global, so measured code should not overlap with other database work in the same test.
+ */
+@TestComponent
+public class QueryStatistics {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Clears the counters, runs the action and returns the counters it left behind
+    public Statistics measure(Runnable action) {
+        Statistics statistics = sessionFactory().getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics;
+    }
+
+    public long statements(Runnable action) {
+        return measure(action).getPrepareStatementCount();
+    }
+
+    // Starts a measurement from a cold second-level cache, as after a restart
+    public void evictSecondLevelCache() {
+        sessionFactory().getCache().evictAllRegions();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}